@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.benchmark;
+
+/**
+ * Creates loggers using the native API of a logging backend.
+ */
+interface LoggerFactory {
+
+    Object getLogger(String name);
+
+    /**
+     * Returns the logger factory of a backend.
+     *
+     * @param implementation The value of the {@code admin.implementation} system property.
+     */
+    static LoggerFactory of(String implementation) {
+        switch (implementation) {
+            case "jul":
+                return java.util.logging.Logger::getLogger;
+            case "log4j-core":
+                return org.apache.logging.log4j.LogManager::getLogger;
+            case "logback":
+                return org.slf4j.LoggerFactory::getLogger;
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.benchmark;
+
+/**
+ * Generates the names of a balanced logger hierarchy.
+ */
+final class LoggerTree {
+
+    /**
+     * Generates {@code count} names, using the same number of children for each node.
+     *
+     * @param prefix The name of the common ancestor of all the loggers.
+     * @param count The number of logger names to generate.
+     * @param depth The number of segments after the prefix.
+     * @return Distinct logger names, with {@code depth + 1} segments each.
+     */
+    static String[] names(String prefix, int count, int depth) {
+        int branching = Math.max(2, (int) Math.ceil(Math.pow(count, 1.0 / depth)));
+        String[] names = new String[count];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.setLength(0);
+            sb.append(prefix);
+            int[] digits = new int[depth];
+            for (int d = depth - 1, n = i; d >= 0; d--, n /= branching) {
+                digits[d] = n % branching;
+            }
+            for (int digit : digits) {
+                sb.append(".n").append(digit);
+            }
+            names[i] = sb.toString();
+        }
+        return names;
+    }
+
+    private LoggerTree() {}
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.admin.LoggingAdmin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the operations of {@link LoggingAdmin} on large logger hierarchies.
+ * <p>
+ *   The logging backend is selected by the classpath, like in the tests.
+ *   The {@code admin.implementation} system property tells the benchmark how to create the loggers.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoggingAdminBenchmark {
+
+    private static final Object TOKEN = new Object();
+    private static final String PREFIX = "bench";
+    private static final String SUBTREE = PREFIX + ".n0";
+    private static final int BATCH_SIZE = 16;
+
+    @Param({"1000", "10000", "100000"})
+    public int loggerCount;
+
+    @Param({"2", "5", "10"})
+    public int depth;
+
+    private LoggingAdmin admin;
+    // Keeps the loggers reachable, since JUL only holds weak references
+    private final List<Object> loggers = new ArrayList<>();
+    private String[] loggerNames;
+    private String[] levels;
+    private Map<String, String> batch;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        admin = LoggingAdmin.getInstance(TOKEN);
+        List<String> supportedLevels = admin.getSupportedLevels();
+        levels = new String[] {supportedLevels.get(2), supportedLevels.get(3)};
+        loggerNames = LoggerTree.names(PREFIX, loggerCount, depth);
+        LoggerFactory factory = LoggerFactory.of(System.getProperty("admin.implementation", "log4j-core"));
+        for (String loggerName : loggerNames) {
+            loggers.add(factory.getLogger(loggerName));
+        }
+        // Configure the root of each subtree
+        Map<String, String> configured = new HashMap<>();
+        for (String loggerName : loggerNames) {
+            int idx = loggerName.indexOf('.', PREFIX.length() + 1);
+            String subtree = idx == -1 ? loggerName : loggerName.substring(0, idx);
+            if (configured.put(subtree, levels[0]) == null) {
+                loggers.add(factory.getLogger(subtree));
+            }
+        }
+        admin.setLevels(configured);
+        batch = new HashMap<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.put(loggerNames[i * (loggerNames.length / BATCH_SIZE)], levels[1]);
+        }
+    }
+
+    private String nextLoggerName() {
+        cursor = (cursor + 1) % loggerNames.length;
+        return loggerNames[cursor];
+    }
+
+    @Benchmark
+    public LoggingAdmin getInstance() {
+        return LoggingAdmin.getInstance(TOKEN);
+    }
+
+    @Benchmark
+    public String getLevel() {
+        return admin.getLevel(nextLoggerName());
+    }
+
+    @Benchmark
+    public String getEffectiveLevel() {
+        return admin.getEffectiveLevel(nextLoggerName());
+    }
+
+    @Benchmark
+    public boolean isEnabled() {
+        return admin.isEnabled(nextLoggerName(), levels[1]);
+    }
+
+    @Benchmark
+    public void setLevel() {
+        admin.setLevel(SUBTREE, levels[cursor++ & 1]);
+    }
+
+    @Benchmark
+    public void setLevels() {
+        batch.replaceAll((k, v) -> levels[cursor & 1]);
+        cursor++;
+        admin.setLevels(batch);
+    }
+
+    @Benchmark
+    public Map<String, String> getLevels() {
+        return admin.getLevels();
+    }
+
+    @Benchmark
+    public Map<String, String> getSubtreeLevels() {
+        return admin.getLevels(SUBTREE);
+    }
+
+    @Benchmark
+    public long streamSubtreeLevels() {
+        return admin.streamLevels(SUBTREE).count();
+    }
+}
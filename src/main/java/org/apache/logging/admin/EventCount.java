@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin;
+
+/**
+ * The number of log events of a logger at a given level.
+ *
+ * @see LoggingAdmin#getTopEventCounts(int)
+ */
+public final class EventCount {
+
+    private final String loggerName;
+    private final String level;
+    private final long count;
+
+    /**
+     * @param loggerName The name of the logger.
+     * @param level The level of the events.
+     * @param count The number of events.
+     */
+    public EventCount(String loggerName, String level, long count) {
+        this.loggerName = loggerName;
+        this.level = level;
+        this.count = count;
+    }
+
+    /**
+     * The name of the logger.
+     */
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    /**
+     * The level of the events.
+     */
+    public String getLevel() {
+        return level;
+    }
+
+    /**
+     * The number of events since the counting was enabled.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "EventCount{loggerName=" + loggerName + ", level=" + level + ", count=" + count + '}';
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The changes of configured levels since a given version.
+ *
+ * @see LoggingAdmin#getLevelChangesSince(long)
+ */
+public final class LevelChanges {
+
+    private final long version;
+    private final Map<String, @Nullable String> levels;
+
+    /**
+     * @param version The version of the configured levels, after the changes.
+     * @param levels A map associating the loggers whose configured level changed with their new configured level.
+     */
+    public LevelChanges(long version, Map<String, @Nullable String> levels) {
+        this.version = version;
+        this.levels = Collections.unmodifiableMap(new HashMap<>(levels));
+    }
+
+    /**
+     * The version of the configured levels, after the changes.
+     * <p>
+     *   This value should be used in the next invocation of {@link LoggingAdmin#getLevelChangesSince(long)}.
+     * </p>
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * A map associating the loggers whose configured level changed with their new configured level.
+     * <p>
+     *   Loggers that now inherit their configuration from the parent logger will be associated with {@code null}.
+     * </p>
+     */
+    public Map<String, @Nullable String> getLevels() {
+        return levels;
+    }
+
+    @Override
+    public String toString() {
+        return "LevelChanges{version=" + version + ", levels=" + levels + '}';
+    }
+}
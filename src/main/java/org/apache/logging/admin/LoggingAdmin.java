@@ -16,11 +16,28 @@
  */
 package org.apache.logging.admin;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.apache.logging.admin.internal.AdminMXBeans;
 import org.apache.logging.admin.internal.FactoryUtil;
+import org.apache.logging.admin.internal.LevelFileWatcher;
+import org.apache.logging.admin.internal.LevelSnapshots;
+import org.apache.logging.admin.internal.LoggerNames;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -75,6 +92,38 @@ public interface LoggingAdmin {
      */
     Map<String, @Nullable String> getLevels();
 
+    /**
+     * A map associating the names of a logger and of all its descendants with their configured log levels.
+     * <p>
+     *   Implementations only resolve the levels of the loggers in the requested subtree.
+     * </p>
+     * @param loggerName The name of the topmost logger of the subtree.
+     * @see #getLevels()
+     */
+    default Map<String, @Nullable String> getLevels(String loggerName) {
+        Map<String, @Nullable String> loggerLevels = new HashMap<>();
+        getLevels().forEach((name, level) -> {
+            if (LoggerNames.isInSubtree(name, loggerName)) {
+                loggerLevels.put(name, level);
+            }
+        });
+        return loggerLevels;
+    }
+
+    /**
+     * Lazily lists the configured log levels of a logger and all its descendants.
+     * <p>
+     *   The entries are sorted hierarchically: each logger precedes its descendants and siblings are sorted by name.
+     *   Loggers that inherit their configuration from the parent logger will be associated with {@code null}.
+     * </p>
+     * @param loggerName The name of the topmost logger of the subtree.
+     * @see #getLevels(String)
+     */
+    default Stream<Map.Entry<String, @Nullable String>> streamLevels(String loggerName) {
+        return getLevels(loggerName).entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(LoggerNames.HIERARCHICAL_ORDER));
+    }
+
     /**
      * The configured log level for the given logger.
      * <p>
@@ -85,6 +134,48 @@ public interface LoggingAdmin {
     @Nullable
     String getLevel(String loggerName);
 
+    /**
+     * The effective log level for the given logger.
+     * <p>
+     *   This is the configured level of the logger or, if the logger inherits its configuration, the effective level
+     *   of its parent.
+     * </p>
+     * @param loggerName The name of the logger.
+     * @return The effective level or {@code null} if no ancestor of the logger has a configured level.
+     */
+    default @Nullable String getEffectiveLevel(String loggerName) {
+        String currentName = loggerName;
+        while (true) {
+            String level = getLevel(currentName);
+            if (level != null || currentName.isEmpty()) {
+                return level;
+            }
+            int idx = currentName.lastIndexOf('.');
+            currentName = idx == -1 ? ROOT_LOGGER_NAME : currentName.substring(0, idx);
+        }
+    }
+
+    /**
+     * Checks if a logger is enabled for the given level.
+     * <p>
+     *   The severity of levels is given by their order in {@link #getSupportedLevels()}: a logger is enabled for a
+     *   level if the level is at least as severe as the effective level of the logger.
+     *   Implementations cache the effective levels, so this check is cheap enough to guard expensive code paths.
+     * </p>
+     * @param loggerName The name of the logger.
+     * @param level One of the {@link #getSupportedLevels() supported levels}.
+     * @throws IllegalArgumentException If the level is not supported.
+     */
+    default boolean isEnabled(String loggerName, String level) {
+        List<String> supportedLevels = getSupportedLevels();
+        int rank = supportedLevels.indexOf(level);
+        if (rank == -1) {
+            throw new IllegalArgumentException("Unsupported level: " + level);
+        }
+        String effectiveLevel = getEffectiveLevel(loggerName);
+        return effectiveLevel != null && rank <= supportedLevels.indexOf(effectiveLevel);
+    }
+
     /**
      * Sets the level for a logger.
      *
@@ -93,6 +184,377 @@ public interface LoggingAdmin {
      */
     void setLevel(String loggerName, @Nullable String level);
 
+    /**
+     * Sets the levels of multiple loggers at once.
+     * <p>
+     *   Implementations validate all the levels before modifying any logger and reconfigure the logging backend at
+     *   most once per invocation.
+     * </p>
+     *
+     * @param levels A map associating logger names with the level to use or {@code null} to inherit the level of the
+     * parent logger.
+     */
+    default void setLevels(Map<String, @Nullable String> levels) {
+        levels.forEach(this::setLevel);
+    }
+
+    /**
+     * Sets the level of a logger, if its configured level has the expected value.
+     * <p>
+     *   The comparison and the modification are atomic with respect to all the modifications performed through this
+     *   API on the same logger context.
+     * </p>
+     *
+     * @param loggerName A logger name.
+     * @param expected The expected configured level or {@code null} if the level is expected to be inherited.
+     * @param level The level to use or {@code null} to inherit the level of the parent logger.
+     * @return {@code true} if the level was modified.
+     * @throws IllegalArgumentException If the level is not supported.
+     * @throws UnsupportedOperationException If the implementation does not support atomic updates.
+     */
+    default boolean compareAndSetLevel(String loggerName, @Nullable String expected, @Nullable String level) {
+        throw new UnsupportedOperationException(
+                "Atomic level updates are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Sets the levels of multiple loggers at once, if no configured level changed since the given version.
+     * <p>
+     *   The comparison and the modification are atomic with respect to all the modifications performed through this
+     *   API on the same logger context. Modifications performed directly on the logging implementation are detected
+     *   as described in {@link #getLevelsVersion()}.
+     * </p>
+     * <p>
+     *   Determining the current version may require a scan of all the configured levels: on each call if the
+     *   logging implementation does not notify level changes and after each change otherwise. Use
+     *   {@link #compareAndSetLevel} to only compare the levels of the modified loggers.
+     * </p>
+     *
+     * @param version A version returned by {@link #getLevelsVersion()} or {@link LevelChanges#getVersion()}.
+     * @param levels A map associating logger names with the level to use or {@code null} to inherit the level of the
+     * parent logger.
+     * @return {@code true} if the levels were modified.
+     * @throws IllegalArgumentException If a level is not supported.
+     * @throws UnsupportedOperationException If the implementation does not support atomic updates.
+     */
+    default boolean setLevelsIfVersion(long version, Map<String, @Nullable String> levels) {
+        throw new UnsupportedOperationException(
+                "Atomic level updates are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Sets the level of all the existing loggers whose name matches a pattern.
+     * <p>
+     *   Patterns are matched segment by segment against the names returned by {@link #getLevels()}: a {@code *}
+     *   segment matches exactly one name segment, a {@code **} segment matches any number of name segments and other
+     *   segments must be equal. For example {@code com.acme.*.dao} matches {@code com.acme.billing.dao} and
+     *   {@code **.jdbc} matches all the loggers whose last segment is {@code jdbc}.
+     *   All the matching loggers are modified as a single batch.
+     * </p>
+     *
+     * @param pattern A logger name pattern.
+     * @param level The level to use or {@code null} to inherit the level of the parent logger.
+     * @return The names of the modified loggers.
+     * @throws IllegalArgumentException If a wildcard does not span a whole segment.
+     * @throws UnsupportedOperationException If the implementation does not support patterns.
+     */
+    default Set<String> setLevelsMatching(String pattern, @Nullable String level) {
+        throw new UnsupportedOperationException(
+                "Logger name patterns are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Removes the configuration entries created by this API that do not modify any effective level.
+     * <p>
+     *   Some implementations create a configuration entry for each logger whose level is modified. Entries that
+     *   inherit their level or repeat the effective level of their parent are removed, using a single
+     *   reconfiguration. Entries defined by the configuration of the logging implementation are never removed.
+     * </p>
+     *
+     * @return The number of removed entries.
+     * @throws UnsupportedOperationException If the implementation does not support compaction.
+     */
+    default int compactLevels() {
+        throw new UnsupportedOperationException(
+                "Level compaction is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Writes the configured levels to a stream in a compact binary format.
+     * <p>
+     *   Only the loggers with a configured level are written. The stream is flushed, but not closed.
+     * </p>
+     *
+     * @param output The destination of the snapshot.
+     * @see #importLevels(InputStream)
+     */
+    default void exportLevels(OutputStream output) throws IOException {
+        LevelSnapshots.write(getLevels(), output);
+    }
+
+    /**
+     * Applies the levels written by {@link #exportLevels(OutputStream)} as a single batch.
+     * <p>
+     *   The stream is not closed. Since it is read through a buffer, bytes following the snapshot might be consumed.
+     * </p>
+     *
+     * @param input The source of the snapshot.
+     * @throws IOException If the stream does not contain a valid snapshot.
+     * @throws IllegalArgumentException If a level is not supported.
+     */
+    default void importLevels(InputStream input) throws IOException {
+        setLevels(LevelSnapshots.read(input));
+    }
+
+    /**
+     * Applies the level overrides of a properties file and follows its modifications.
+     * <p>
+     *   Each entry of the file associates a logger name with a level. An empty key denotes the root logger and an
+     *   empty value means that the logger inherits its level. When the file changes, only the modified entries are
+     *   applied, as a single batch. Removing an entry restores the level that the logger had before the file
+     *   overrode it. Modifications are detected within a second. A file that cannot be read or contains an
+     *   unsupported level is ignored until its next modification.
+     * </p>
+     *
+     * @param file A properties file, which does not need to exist yet.
+     * @return A handle that stops watching the file when closed. The applied levels are kept.
+     * @throws IOException If the parent directory of the file cannot be watched.
+     */
+    default Closeable watchLevels(Path file) throws IOException {
+        return LevelFileWatcher.watch(this, file);
+    }
+
+    /**
+     * Registers a {@link LoggingAdminMXBean} that delegates to this admin in the platform MBean server.
+     * <p>
+     *   The object name is {@code org.apache.logging.admin:type=LoggingAdmin,name=<quoted name>}.
+     *   The bean can be unregistered using the returned object name.
+     * </p>
+     *
+     * @param name A name that distinguishes this admin from the other registered admins.
+     * @return The object name of the bean.
+     * @throws JMException If the bean cannot be registered, for example because the name is already used.
+     */
+    default ObjectName registerMXBean(String name) throws JMException {
+        return AdminMXBeans.register(this, name);
+    }
+
+    /**
+     * Registers a named set of levels that can be activated later.
+     * <p>
+     *   The levels are validated and converted to the objects of the logging implementation at registration time.
+     *   Activating a profile also resets the loggers that appear in other registered profiles, but not in the
+     *   activated one, so that they inherit their level. Registering a profile with an existing name replaces it.
+     * </p>
+     *
+     * @param profileName The name of the profile.
+     * @param levels A map associating logger names with the level to use or {@code null} to inherit the level of the
+     * parent logger.
+     * @throws IllegalArgumentException If a level is not supported.
+     * @throws UnsupportedOperationException If the implementation does not support profiles.
+     */
+    default void registerLevelProfile(String profileName, Map<String, @Nullable String> levels) {
+        throw new UnsupportedOperationException(
+                "Level profiles are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Applies the levels of a registered profile.
+     * <p>
+     *   All the levels of the profile are applied with a single reconfiguration of the logging implementation.
+     *   Concurrent activations are serialized, so a profile is never mixed with another one.
+     * </p>
+     * <p>
+     *   The switch is only atomic for implementations that reconfigure all the loggers at once, such as Log4j Core.
+     *   Logback and {@code java.util.logging} modify the loggers one at a time, so concurrent log events can observe a
+     *   partially applied profile for the duration of the activation.
+     * </p>
+     *
+     * @param profileName The name of a profile registered with {@link #registerLevelProfile(String, Map)}.
+     * @throws IllegalArgumentException If no profile with that name is registered.
+     * @throws UnsupportedOperationException If the implementation does not support profiles.
+     */
+    default void activateLevelProfile(String profileName) {
+        throw new UnsupportedOperationException(
+                "Level profiles are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Returns the name of the profile that was activated last or {@code null} if no profile was activated.
+     *
+     * @throws UnsupportedOperationException If the implementation does not support profiles.
+     */
+    default @Nullable String getActiveLevelProfile() {
+        throw new UnsupportedOperationException(
+                "Level profiles are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Sets the level of a logger asynchronously.
+     * <p>
+     *   Changes submitted within a short time window, by any thread, are applied as a single batch by a background
+     *   thread. If a logger is modified several times in the same window, the last change wins. The order relative to
+     *   synchronous modifications is not specified.
+     * </p>
+     * <p>
+     *   The default implementation sets the level synchronously.
+     * </p>
+     *
+     * @param loggerName The name of the logger.
+     * @param level The level to use or {@code null} to inherit the level of the parent logger.
+     * @return A future completed when the level has been applied, or completed exceptionally if the level is not
+     * supported.
+     */
+    default CompletableFuture<Void> setLevelAsync(String loggerName, @Nullable String level) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            setLevel(loggerName, level);
+            future.complete(null);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Sets the level of a logger for a limited time.
+     * <p>
+     *   When the time-to-live expires, the level configured before the override is restored, unless the level of
+     *   the logger was modified in the meantime. Overriding the same logger again extends the override, but keeps the
+     *   original level. Overrides that expire together are reverted as a single batch.
+     * </p>
+     *
+     * @param loggerName The name of the logger.
+     * @param level The level to use or {@code null} to inherit the level of the parent logger.
+     * @param ttl The duration of the override.
+     * @throws IllegalArgumentException If the duration is not positive.
+     * @throws UnsupportedOperationException If the implementation does not support temporary levels.
+     */
+    default void setLevel(String loggerName, @Nullable String level, Duration ttl) {
+        throw new UnsupportedOperationException(
+                "Temporary levels are not supported by " + getClass().getName());
+    }
+
+    /**
+     * The current version of the configured levels.
+     * <p>
+     *   The version increases each time a change of the configured levels is detected.
+     *   This includes changes performed through this API and, if the logging implementation notifies them, changes
+     *   performed directly on the logging implementation.
+     *   Loggers that are created with an inherited level do not modify the version.
+     * </p>
+     * @throws UnsupportedOperationException If the implementation does not track level changes.
+     */
+    default long getLevelsVersion() {
+        throw new UnsupportedOperationException(
+                "Level versioning is not supported by " + getClass().getName());
+    }
+
+    /**
+     * The configured levels that changed after the given version.
+     * <p>
+     *   Version {@code 0} precedes all changes, so it can be used to retrieve all the configured levels.
+     * </p>
+     * @param version A version returned by {@link #getLevelsVersion()} or {@link LevelChanges#getVersion()}.
+     * @throws UnsupportedOperationException If the implementation does not track level changes.
+     */
+    default LevelChanges getLevelChangesSince(long version) {
+        throw new UnsupportedOperationException(
+                "Level versioning is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Registers a listener that is notified when configured levels change.
+     * <p>
+     *   Listeners are called asynchronously on a background thread, so that the thread that modifies the levels is
+     *   never delayed. Changes that happen in a short time window are coalesced: each notification contains the
+     *   changes since the previous one, as returned by {@link #getLevelChangesSince(long)}.
+     * </p>
+     * <p>
+     *   The same changes are detected as for {@link #getLevelsVersion()}. Listeners share a single thread: a slow
+     *   listener delays the notifications of the other listeners, but not the other background tasks of the admin.
+     * </p>
+     * @param listener A level change listener.
+     * @throws UnsupportedOperationException If the implementation does not track level changes.
+     */
+    default void addLevelChangeListener(Consumer<LevelChanges> listener) {
+        throw new UnsupportedOperationException(
+                "Level listeners are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Unregisters a listener registered with {@link #addLevelChangeListener(Consumer)}.
+     *
+     * @param listener A level change listener.
+     * @throws UnsupportedOperationException If the implementation does not track level changes.
+     */
+    default void removeLevelChangeListener(Consumer<LevelChanges> listener) {
+        throw new UnsupportedOperationException(
+                "Level listeners are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Starts or stops counting the log events of each logger and level.
+     * <p>
+     *   Events are counted by a hook installed in the logging implementation, so that there is no overhead while the
+     *   counting is disabled. Only the events enabled by the level of their logger are counted.
+     *   Enabling the counting twice does not reset the counts.
+     *   Reconfiguring the logging implementation might remove the hook.
+     * </p>
+     *
+     * @param enabled Whether events should be counted.
+     * @throws UnsupportedOperationException If the implementation does not support event counting.
+     */
+    default void setEventCounting(boolean enabled) {
+        throw new UnsupportedOperationException(
+                "Event counting is not supported by " + getClass().getName());
+    }
+
+    /**
+     * The loggers and levels with the most log events since the counting was enabled.
+     *
+     * @param limit The maximal number of results.
+     * @return A list of event counts, sorted in decreasing order, or an empty list if the counting is disabled.
+     * @throws IllegalArgumentException If the limit is negative.
+     * @throws UnsupportedOperationException If the implementation does not support event counting.
+     */
+    default List<EventCount> getTopEventCounts(int limit) {
+        throw new UnsupportedOperationException(
+                "Event counting is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Starts a governor that raises the level of loggers that emit too many events.
+     * <p>
+     *   The governor enables {@linkplain #setEventCounting(boolean) event counting} and samples the event rate of each
+     *   logger every second. Each sample above the budget raises the level of the logger by one step, up to the most
+     *   severe level other than {@code OFF}. The original level of a throttled logger is restored after ten
+     *   consecutive samples below half of the budget, unless the level was modified in the meantime.
+     *   Starting the governor again replaces the budget.
+     * </p>
+     *
+     * @param maxEventsPerSecond The event rate budget of each logger.
+     * @throws IllegalArgumentException If the budget is not positive.
+     * @throws UnsupportedOperationException If the implementation does not support event counting.
+     */
+    default void startLevelGovernor(long maxEventsPerSecond) {
+        throw new UnsupportedOperationException(
+                "Level governors are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Stops the governor started by {@link #startLevelGovernor(long)} and restores the throttled loggers.
+     * <p>
+     *   Event counting remains enabled.
+     * </p>
+     *
+     * @throws UnsupportedOperationException If the implementation does not support event counting.
+     */
+    default void stopLevelGovernor() {
+        throw new UnsupportedOperationException(
+                "Level governors are not supported by " + getClass().getName());
+    }
+
     /**
      * Retrieves the logging configuration admin appropriate for the caller
      * <p>
@@ -100,6 +562,17 @@ public interface LoggingAdmin {
      *   All future invocations of this method will need to use the same token.
      *   Tokens are compared using object equality.
      * </p>
+     * <p>
+     *   If the {@code org.apache.logging.admin.composite} system property is {@code true}, level changes are also
+     *   applied to the other active logging implementations, e.g. to {@code java.util.logging} loggers bridged to the
+     *   main implementation. Levels are mapped by severity and all queries are answered by the main implementation.
+     * </p>
+     * <p>
+     *   The {@code org.apache.logging.admin.factory} system property pins the logging implementation: its value is
+     *   either {@code log4j}, {@code logback}, {@code jul} or the class name of a
+     *   {@link org.apache.logging.admin.spi.LoggingAdminFactory}. Otherwise, implementations are probed in priority
+     *   order until an active one is found.
+     * </p>
      * @param token Any Java object.
      * @return A logging configuration admin.
      * @throws SecurityException If a security token is set for the associated logger context and the provided token
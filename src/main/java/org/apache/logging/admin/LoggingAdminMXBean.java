@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Management interface of a {@link LoggingAdmin}, registered with {@link LoggingAdmin#registerMXBean(String)}.
+ * <p>
+ *   Bulk operations allow remote clients to query and modify thousands of loggers with a single call.
+ * </p>
+ */
+public interface LoggingAdminMXBean {
+
+    /**
+     * The domain of the object names of the registered beans.
+     */
+    String DOMAIN = "org.apache.logging.admin";
+
+    /**
+     * Returns the levels supported by the logging implementation, from the most to the least severe.
+     *
+     * @see LoggingAdmin#getSupportedLevels()
+     */
+    List<String> getSupportedLevels();
+
+    /**
+     * Returns the configured level of a logger or {@code null} if the logger inherits its level.
+     *
+     * @see LoggingAdmin#getLevel(String)
+     */
+    @Nullable
+    String getLevel(String loggerName);
+
+    /**
+     * Returns the configured levels of the loggers in a subtree.
+     *
+     * @see LoggingAdmin#getLevels(String)
+     */
+    Map<String, @Nullable String> getLevels(String loggerName);
+
+    /**
+     * Sets the level of a logger, or resets it to inherit the level of the parent logger if {@code null}.
+     *
+     * @see LoggingAdmin#setLevel(String, String)
+     */
+    void setLevel(String loggerName, @Nullable String level);
+
+    /**
+     * Sets the levels of multiple loggers at once.
+     *
+     * @param loggerNames The names of the loggers.
+     * @param levels The level of each logger, or {@code null} to inherit the level of the parent logger.
+     * @throws IllegalArgumentException If the arrays do not have the same length or a level is not supported.
+     * @see LoggingAdmin#setLevels(Map)
+     */
+    void setLevels(String[] loggerNames, @Nullable String[] levels);
+
+    /**
+     * Returns the configured levels in the format of {@link LoggingAdmin#exportLevels}.
+     */
+    byte[] exportLevels() throws IOException;
+
+    /**
+     * Applies the levels of a snapshot.
+     *
+     * @param snapshot Levels in the format of {@link LoggingAdmin#exportLevels}.
+     * @see LoggingAdmin#importLevels
+     */
+    void importLevels(byte[] snapshot) throws IOException;
+}
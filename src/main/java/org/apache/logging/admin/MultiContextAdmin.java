@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import org.apache.logging.admin.internal.FactoryUtil;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Administers all the logger contexts of the logging implementation, such as the contexts of the web applications
+ * of an application server.
+ * <p>
+ *   Operations are applied to each logger context in parallel and return a separate result for each context, so
+ *   that a failure in one context does not affect the others.
+ * </p>
+ */
+public final class MultiContextAdmin {
+
+    private final Map<String, LoggingAdmin> admins;
+
+    MultiContextAdmin(Map<String, LoggingAdmin> admins) {
+        this.admins = Collections.unmodifiableMap(new LinkedHashMap<>(admins));
+    }
+
+    /**
+     * Retrieves the admins of all the logger contexts that exist at the time of the call.
+     * <p>
+     *   Each logger context is guarded by its own token, as in {@link LoggingAdmin#getInstance(Object)}.
+     *   Logger contexts associated with a different token are skipped.
+     * </p>
+     *
+     * @param token Any Java object.
+     * @return The admins of the logger contexts.
+     */
+    public static MultiContextAdmin getInstance(Object token) {
+        return new MultiContextAdmin(FactoryUtil.getLoggingAdmins(Objects.requireNonNull(token)));
+    }
+
+    /**
+     * Returns a map associating the name of each logger context with its admin.
+     */
+    public Map<String, LoggingAdmin> getAdmins() {
+        return admins;
+    }
+
+    /**
+     * Applies an operation to all the logger contexts in parallel, using the common fork-join pool.
+     *
+     * @param operation An operation, such as a query or a level change.
+     * @return A map associating the name of each logger context with the result of the operation.
+     */
+    public <T> Map<String, CompletableFuture<T>> apply(Function<? super LoggingAdmin, ? extends T> operation) {
+        return apply(operation, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Applies an operation to all the logger contexts in parallel.
+     *
+     * @param operation An operation, such as a query or a level change.
+     * @param executor The executor that runs the operation for each logger context.
+     * @return A map associating the name of each logger context with the result of the operation.
+     */
+    public <T> Map<String, CompletableFuture<T>> apply(
+            Function<? super LoggingAdmin, ? extends T> operation, Executor executor) {
+        Map<String, CompletableFuture<T>> results = new LinkedHashMap<>();
+        admins.forEach((contextName, admin) ->
+                results.put(contextName, CompletableFuture.supplyAsync(() -> operation.apply(admin), executor)));
+        return results;
+    }
+
+    /**
+     * Sets the levels of multiple loggers in all the logger contexts in parallel.
+     * <p>
+     *   Each logger context is reconfigured at most once.
+     * </p>
+     *
+     * @param levels A map associating logger names with the level to use or {@code null} to inherit the level of the
+     * parent logger.
+     * @return A map associating the name of each logger context with the completion of its level changes.
+     */
+    public Map<String, CompletableFuture<Void>> setLevels(Map<String, @Nullable String> levels) {
+        return apply(admin -> {
+            admin.setLevels(levels);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import org.apache.logging.admin.LoggingAdmin;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Exposes a {@link LoggingAdmin} over HTTP.
+ * <p>
+ *   The server has a single resource, {@code /levels}, whose representation is a list of lines containing a logger
+ *   name, a tab character and the configured level of the logger, which is empty if the logger inherits its level:
+ * </p>
+ * <dl>
+ *   <dt>{@code GET /levels[?logger=<name>]}</dt>
+ *   <dd>
+ *     Returns the levels of the subtree of a logger, by default the whole hierarchy, in
+ *     {@linkplain LoggingAdmin#streamLevels hierarchical order}. If the admin supports
+ *     {@linkplain LoggingAdmin#getLevelsVersion() versioning}, the response has an {@code ETag} header and a
+ *     request with a matching {@code If-None-Match} header receives a {@code 304 Not Modified} response.
+ *   </dd>
+ *   <dt>{@code POST /levels}</dt>
+ *   <dd>Applies all the lines of the request body as a single {@linkplain LoggingAdmin#setLevels batch}.</dd>
+ * </dl>
+ * <p>
+ *   Requests are not authenticated, so the server is bound to the loopback interface by default. To prevent web pages
+ *   from reaching it through a browser, requests with an {@code Origin} header are rejected. On the loopback
+ *   interface, requests whose {@code Host} header is not a loopback host are rejected too, which defeats DNS
+ *   rebinding. Requests are handled by virtual threads if the runtime supports them.
+ * </p>
+ */
+public final class LevelHttpServer implements Closeable {
+
+    /**
+     * The path of the levels resource.
+     */
+    public static final String LEVELS_PATH = "/levels";
+
+    private static final String CONTENT_TYPE = "text/tab-separated-values; charset=UTF-8";
+
+    private final LoggingAdmin admin;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private LevelHttpServer(LoggingAdmin admin, HttpServer server, ExecutorService executor) {
+        this.admin = admin;
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a server bound to the loopback interface.
+     *
+     * @param admin The admin to expose.
+     * @param port A TCP port or {@code 0} to choose a free port.
+     * @return The running server.
+     */
+    public static LevelHttpServer start(LoggingAdmin admin, int port) throws IOException {
+        return start(admin, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Starts a server bound to the given address.
+     *
+     * @param admin The admin to expose.
+     * @param address The address of the server.
+     * @return The running server.
+     */
+    public static LevelHttpServer start(LoggingAdmin admin, InetSocketAddress address) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        ExecutorService executor = createExecutor();
+        LevelHttpServer levelServer = new LevelHttpServer(admin, server, executor);
+        server.createContext(LEVELS_PATH, levelServer::handle);
+        server.setExecutor(executor);
+        server.start();
+        return levelServer;
+    }
+
+    /**
+     * Returns the address the server is bound to.
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops the server, without waiting for the requests in progress.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!isAllowedClient(exchange)) {
+                sendEmpty(exchange, 403);
+            } else if (!LEVELS_PATH.equals(exchange.getRequestURI().getPath())) {
+                sendEmpty(exchange, 404);
+            } else if ("GET".equals(exchange.getRequestMethod())) {
+                handleGet(exchange);
+            } else if ("POST".equals(exchange.getRequestMethod())) {
+                handlePost(exchange);
+            } else {
+                exchange.getResponseHeaders().set("Allow", "GET, POST");
+                sendEmpty(exchange, 405);
+            }
+        } catch (IllegalArgumentException e) {
+            byte[] message = String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+            exchange.sendResponseHeaders(400, message.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(message);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Rejects the requests that browsers send on behalf of web pages.
+     */
+    private boolean isAllowedClient(HttpExchange exchange) {
+        if (exchange.getRequestHeaders().containsKey("Origin")) {
+            return false;
+        }
+        if (!server.getAddress().getAddress().isLoopbackAddress()) {
+            return true;
+        }
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        return host != null && isLoopbackHost(host);
+    }
+
+    /**
+     * Checks the value of a {@code Host} header without resolving host names.
+     */
+    static boolean isLoopbackHost(String host) {
+        String hostName;
+        if (host.startsWith("[")) {
+            int end = host.indexOf(']');
+            hostName = end == -1 ? host : host.substring(0, end + 1);
+        } else {
+            int idx = host.indexOf(':');
+            hostName = idx == -1 ? host : host.substring(0, idx);
+        }
+        if ("localhost".equalsIgnoreCase(hostName)) {
+            return true;
+        }
+        // Only IP literals are parsed, so that no DNS lookup happens
+        boolean ipv4 = !hostName.isEmpty() && hostName.chars().allMatch(c -> c == '.' || (c >= '0' && c <= '9'));
+        if (ipv4 || (hostName.startsWith("[") && hostName.endsWith("]"))) {
+            try {
+                return InetAddress.getByName(hostName).isLoopbackAddress();
+            } catch (UnknownHostException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void handleGet(HttpExchange exchange) throws IOException {
+        String loggerName = getLoggerName(exchange.getRequestURI().getRawQuery());
+        String etag = getETag();
+        if (etag != null) {
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                sendEmpty(exchange, 304);
+                return;
+            }
+        }
+        // The body is built before the status is sent, so that errors can still be reported
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8));
+                Stream<Map.Entry<String, @Nullable String>> levels = admin.streamLevels(loggerName)) {
+            Iterator<Map.Entry<String, @Nullable String>> iterator = levels.iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, @Nullable String> entry = iterator.next();
+                String level = entry.getValue();
+                writer.write(entry.getKey());
+                writer.write('\t');
+                writer.write(level != null ? level : "");
+                writer.write('\n');
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, body.size());
+        try (OutputStream output = exchange.getResponseBody()) {
+            body.writeTo(output);
+        }
+    }
+
+    private @Nullable String getETag() {
+        try {
+            return "\"" + admin.getLevelsVersion() + "\"";
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private void handlePost(HttpExchange exchange) throws IOException {
+        Map<String, @Nullable String> levels = new HashMap<>();
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int idx = line.indexOf('\t');
+                if (idx == -1) {
+                    throw new IllegalArgumentException("Missing tab character: " + line);
+                }
+                String level = line.substring(idx + 1).trim();
+                levels.put(line.substring(0, idx), level.isEmpty() ? null : level);
+            }
+        }
+        admin.setLevels(levels);
+        sendEmpty(exchange, 204);
+    }
+
+    private static String getLoggerName(@Nullable String rawQuery) throws UnsupportedEncodingException {
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&", -1)) {
+                if (parameter.startsWith("logger=")) {
+                    return URLDecoder.decode(parameter.substring("logger=".length()), "UTF-8");
+                }
+            }
+        }
+        return LoggingAdmin.ROOT_LOGGER_NAME;
+    }
+
+    private static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    /**
+     * Uses virtual threads on Java 21+ and daemon platform threads otherwise.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "logging-admin-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.apache.logging.admin.EventCount;
+import org.apache.logging.admin.LevelChanges;
+import org.apache.logging.admin.LoggingAdmin;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Implements the features of {@link LoggingAdmin} that do not depend on the logging backend.
+ * <p>
+ *   The state of these features is shared by all the admins of the same logger context.
+ * </p>
+ */
+abstract class AbstractLoggingAdmin implements LoggingAdmin {
+
+    /**
+     * Severity rank of loggers without an effective level.
+     */
+    private static final int NO_LEVEL = -1;
+
+    private final LevelJournal journal;
+    private final LevelOverrides overrides;
+    private final LevelProfiles profiles = new LevelProfiles(this);
+    private final LevelBatcher batcher = new LevelBatcher(this);
+    private @Nullable LevelGovernor governor;
+    private volatile @Nullable Map<String, Integer> severityRanks;
+    private volatile EffectiveRanks effectiveRanks = new EffectiveRanks(-1);
+    private volatile @Nullable LoggingAdmin compositeAdmin;
+
+    AbstractLoggingAdmin(LevelJournal journal) {
+        this.journal = journal;
+        this.overrides = new LevelOverrides(this, journal.getUpdateLock());
+    }
+
+    /**
+     * Returns the composite admin that applies the changes of this admin to the other active backends.
+     *
+     * @param factory Creates the composite admin, if it does not exist yet.
+     */
+    LoggingAdmin getCompositeAdmin(Supplier<LoggingAdmin> factory) {
+        LoggingAdmin composite = compositeAdmin;
+        if (composite == null) {
+            synchronized (this) {
+                composite = compositeAdmin;
+                if (composite == null) {
+                    compositeAdmin = composite = factory.get();
+                }
+            }
+        }
+        return composite;
+    }
+
+    @Override
+    public @Nullable String getEffectiveLevel(String loggerName) {
+        if (!journal.isTrackingChanges()) {
+            // Direct modifications of the backend are not notified, so a cache could become stale
+            return LoggingAdmin.super.getEffectiveLevel(loggerName);
+        }
+        int rank = getEffectiveRank(loggerName);
+        return rank == NO_LEVEL ? null : getSupportedLevels().get(rank);
+    }
+
+    @Override
+    public boolean isEnabled(String loggerName, String level) {
+        Integer rank = getSeverityRanks().get(level);
+        if (rank == null) {
+            throw new IllegalArgumentException("Unsupported level: " + level);
+        }
+        return rank <= getEffectiveRank(loggerName);
+    }
+
+    /**
+     * @return The position of the effective level of the logger in {@link #getSupportedLevels()}.
+     */
+    private int getEffectiveRank(String loggerName) {
+        if (!journal.isTrackingChanges()) {
+            String level = getEffectiveLevel(loggerName);
+            Integer rank = level != null ? getSeverityRanks().get(level) : null;
+            return rank != null ? rank : NO_LEVEL;
+        }
+        long modCount = journal.getModCount();
+        EffectiveRanks current = effectiveRanks;
+        if (current.modCount != modCount) {
+            // A value computed concurrently with a modification can only end up in a discarded cache.
+            current = new EffectiveRanks(modCount);
+            effectiveRanks = current;
+        }
+        return getEffectiveRank(current.ranks, loggerName);
+    }
+
+    private int getEffectiveRank(Map<String, Integer> cache, String loggerName) {
+        Integer cached = cache.get(loggerName);
+        if (cached != null) {
+            return cached;
+        }
+        String level = getLevel(loggerName);
+        // Levels outside of the supported ones are ignored
+        Integer rank = level != null ? getSeverityRanks().get(level) : null;
+        if (rank == null) {
+            int idx = loggerName.lastIndexOf('.');
+            rank = loggerName.isEmpty()
+                    ? NO_LEVEL
+                    : getEffectiveRank(cache, idx == -1 ? ROOT_LOGGER_NAME : loggerName.substring(0, idx));
+        }
+        cache.put(loggerName, rank);
+        return rank;
+    }
+
+    private Map<String, Integer> getSeverityRanks() {
+        Map<String, Integer> ranks = severityRanks;
+        if (ranks == null) {
+            ranks = new HashMap<>();
+            List<String> supportedLevels = getSupportedLevels();
+            for (int i = 0; i < supportedLevels.size(); i++) {
+                ranks.put(supportedLevels.get(i), i);
+            }
+            severityRanks = ranks;
+        }
+        return ranks;
+    }
+
+    @Override
+    public void setLevel(String loggerName, @Nullable String level) {
+        setLevels(Collections.singletonMap(loggerName, level));
+    }
+
+    @Override
+    public void setLevels(Map<String, @Nullable String> levels) {
+        applyLevels(compileLevels(levels));
+    }
+
+    /**
+     * Applies levels compiled by {@link #compileLevels}.
+     */
+    void applyLevels(CompiledLevels levels) {
+        ReentrantLock updateLock = journal.getUpdateLock();
+        updateLock.lock();
+        try {
+            try {
+                levels.apply();
+            } finally {
+                journal.levelsModified();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSetLevel(String loggerName, @Nullable String expected, @Nullable String level) {
+        CompiledLevels compiled = compileLevels(Collections.singletonMap(loggerName, level));
+        ReentrantLock updateLock = journal.getUpdateLock();
+        updateLock.lock();
+        try {
+            if (!Objects.equals(getLevel(loggerName), expected)) {
+                return false;
+            }
+            applyLevels(compiled);
+            return true;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean setLevelsIfVersion(long version, Map<String, @Nullable String> levels) {
+        CompiledLevels compiled = compileLevels(levels);
+        ReentrantLock updateLock = journal.getUpdateLock();
+        updateLock.lock();
+        try {
+            // Backends that do not notify changes require a full scan to determine the version
+            if (getLevelsVersion() != version) {
+                return false;
+            }
+            applyLevels(compiled);
+            return true;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Override
+    public Set<String> setLevelsMatching(String pattern, @Nullable String level) {
+        Set<String> loggerNames =
+                LoggerNamePattern.compile(pattern).match(getLevels().keySet());
+        if (!loggerNames.isEmpty()) {
+            Map<String, @Nullable String> levels = new HashMap<>();
+            loggerNames.forEach(loggerName -> levels.put(loggerName, level));
+            setLevels(levels);
+        }
+        return loggerNames;
+    }
+
+    @Override
+    public CompletableFuture<Void> setLevelAsync(String loggerName, @Nullable String level) {
+        return batcher.submit(loggerName, level);
+    }
+
+    @Override
+    public void setLevel(String loggerName, @Nullable String level, Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("The duration of a level override must be positive: " + ttl);
+        }
+        overrides.put(loggerName, level, ttl.toNanos());
+    }
+
+    /**
+     * Validates and converts levels to the objects of the logging backend, without modifying any logger.
+     *
+     * @param levels A map associating logger names with the level to use or {@code null} to inherit the level of the
+     * parent logger.
+     * @return An action that modifies the levels of all the loggers, reconfiguring the logging backend at most once.
+     * @throws IllegalArgumentException If a level is not supported.
+     */
+    abstract CompiledLevels compileLevels(Map<String, @Nullable String> levels);
+
+    @Override
+    public int compactLevels() {
+        // Most backends do not create configuration entries
+        return 0;
+    }
+
+    @Override
+    public void registerLevelProfile(String profileName, Map<String, @Nullable String> levels) {
+        profiles.register(profileName, levels);
+    }
+
+    @Override
+    public void activateLevelProfile(String profileName) {
+        profiles.activate(profileName);
+    }
+
+    @Override
+    public @Nullable String getActiveLevelProfile() {
+        return profiles.getActive();
+    }
+
+    @Override
+    public long getLevelsVersion() {
+        return journal.refresh(this::getLevels);
+    }
+
+    @Override
+    public LevelChanges getLevelChangesSince(long version) {
+        journal.refresh(this::getLevels);
+        return journal.getChangesSince(version);
+    }
+
+    @Override
+    public void addLevelChangeListener(Consumer<LevelChanges> listener) {
+        journal.addListener(Objects.requireNonNull(listener), this::getLevels);
+    }
+
+    @Override
+    public void removeLevelChangeListener(Consumer<LevelChanges> listener) {
+        journal.removeListener(listener);
+    }
+
+    @Override
+    public synchronized void setEventCounting(boolean enabled) {
+        EventCounters counters = findEventCounters();
+        if (enabled && counters == null) {
+            installEventCounters(new EventCounters(getSupportedLevels()));
+        } else if (!enabled && counters != null) {
+            uninstallEventCounters();
+        }
+    }
+
+    @Override
+    public List<EventCount> getTopEventCounts(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("The limit must not be negative: " + limit);
+        }
+        EventCounters counters = findEventCounters();
+        return counters != null ? counters.getTop(limit) : Collections.emptyList();
+    }
+
+    @Override
+    public synchronized void startLevelGovernor(long maxEventsPerSecond) {
+        if (maxEventsPerSecond <= 0) {
+            throw new IllegalArgumentException("The event rate budget must be positive: " + maxEventsPerSecond);
+        }
+        stopLevelGovernor();
+        setEventCounting(true);
+        governor = new LevelGovernor(this, this::getEventTotals, maxEventsPerSecond, System.nanoTime());
+        governor.start();
+    }
+
+    @Override
+    public synchronized void stopLevelGovernor() {
+        if (governor != null) {
+            governor.stop();
+            governor = null;
+        }
+    }
+
+    private Map<String, Long> getEventTotals() {
+        EventCounters counters = findEventCounters();
+        return counters != null ? counters.getTotals() : Collections.emptyMap();
+    }
+
+    /**
+     * Finds the event counters installed in the logging backend.
+     *
+     * @return The installed event counters or {@code null} if event counting is disabled.
+     */
+    abstract @Nullable EventCounters findEventCounters();
+
+    /**
+     * Installs a hook in the logging backend that counts all the enabled log events.
+     */
+    abstract void installEventCounters(EventCounters counters);
+
+    /**
+     * Removes the hook installed by {@link #installEventCounters}.
+     */
+    abstract void uninstallEventCounters();
+
+    /**
+     * Level modifications that were validated and resolved in advance.
+     */
+    @FunctionalInterface
+    interface CompiledLevels {
+
+        void apply();
+    }
+
+    /**
+     * Cache of the severity ranks of effective levels, valid for a single journal modification count.
+     */
+    private static final class EffectiveRanks {
+
+        private final long modCount;
+        private final Map<String, Integer> ranks = new ConcurrentHashMap<>();
+
+        private EffectiveRanks(long modCount) {
+            this.modCount = modCount;
+        }
+    }
+}
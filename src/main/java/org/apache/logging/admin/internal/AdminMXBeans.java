@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import org.apache.logging.admin.LoggingAdmin;
+import org.apache.logging.admin.LoggingAdminMXBean;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Registers {@link LoggingAdminMXBean}s in the platform MBean server.
+ */
+public final class AdminMXBeans {
+
+    /**
+     * Registers a bean that delegates to an admin.
+     * <p>
+     *   Since the admin was obtained with a security token, the bean does not give access to other logger contexts.
+     * </p>
+     *
+     * @param admin The admin to expose.
+     * @param name The value of the {@code name} key of the object name.
+     * @return The object name of the bean.
+     */
+    public static ObjectName register(LoggingAdmin admin, String name) throws JMException {
+        ObjectName objectName =
+                new ObjectName(LoggingAdminMXBean.DOMAIN + ":type=LoggingAdmin,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer()
+                .registerMBean(new StandardMBean(new Adapter(admin), LoggingAdminMXBean.class, true), objectName);
+        return objectName;
+    }
+
+    private static final class Adapter implements LoggingAdminMXBean {
+
+        private final LoggingAdmin admin;
+
+        private Adapter(LoggingAdmin admin) {
+            this.admin = admin;
+        }
+
+        @Override
+        public List<String> getSupportedLevels() {
+            return admin.getSupportedLevels();
+        }
+
+        @Override
+        public @Nullable String getLevel(String loggerName) {
+            return admin.getLevel(loggerName);
+        }
+
+        @Override
+        public Map<String, @Nullable String> getLevels(String loggerName) {
+            return admin.getLevels(loggerName);
+        }
+
+        @Override
+        public void setLevel(String loggerName, @Nullable String level) {
+            admin.setLevel(loggerName, level);
+        }
+
+        @Override
+        public void setLevels(String[] loggerNames, @Nullable String[] levels) {
+            if (loggerNames.length != levels.length) {
+                throw new IllegalArgumentException("Expected " + loggerNames.length + " levels, got " + levels.length);
+            }
+            Map<String, @Nullable String> levelMap = new HashMap<>(loggerNames.length * 4 / 3 + 1);
+            for (int i = 0; i < loggerNames.length; i++) {
+                levelMap.put(loggerNames[i], levels[i]);
+            }
+            admin.setLevels(levelMap);
+        }
+
+        @Override
+        public byte[] exportLevels() throws IOException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            admin.exportLevels(output);
+            return output.toByteArray();
+        }
+
+        @Override
+        public void importLevels(byte[] snapshot) throws IOException {
+            admin.importLevels(new ByteArrayInputStream(snapshot));
+        }
+    }
+
+    private AdminMXBeans() {}
+}
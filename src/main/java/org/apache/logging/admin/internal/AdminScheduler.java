@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Provides the daemon threads shared by all the background tasks of the logging admins.
+ * <p>
+ *   The scheduler runs the timer work of the admins on a single thread: level reverts, batched updates, governor
+ *   samples and file reloads. These tasks delay each other, so they only perform bounded work of the admin itself.
+ * </p>
+ * <p>
+ *   Code supplied by users, such as level change listeners, runs on a separate thread, so that a slow listener does
+ *   not delay the timer work. It only delays the notification of the other listeners.
+ * </p>
+ */
+final class AdminScheduler {
+
+    private static final class Holder {
+        private static final ScheduledExecutorService executor = createExecutor();
+    }
+
+    private static final class ListenerHolder {
+        private static final ExecutorService executor =
+                Executors.newSingleThreadExecutor(daemonThreadFactory("logging-admin-listeners"));
+    }
+
+    private static ScheduledExecutorService createExecutor() {
+        ScheduledThreadPoolExecutor executor =
+                new ScheduledThreadPoolExecutor(1, daemonThreadFactory("logging-admin-scheduler"));
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    static ScheduledExecutorService get() {
+        return Holder.executor;
+    }
+
+    /**
+     * Returns the executor that calls the listeners supplied by users, in submission order.
+     */
+    static Executor getListenerExecutor() {
+        return ListenerHolder.executor;
+    }
+
+    private AdminScheduler() {}
+}
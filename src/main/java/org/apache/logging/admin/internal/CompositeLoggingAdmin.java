@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.apache.logging.admin.EventCount;
+import org.apache.logging.admin.LevelChanges;
+import org.apache.logging.admin.LoggingAdmin;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Applies level changes to all the active logging backends.
+ * <p>
+ *   All queries are answered by the primary admin. Level changes are applied to the primary admin first, which
+ *   validates them, and then to the secondary admins, after mapping the levels with a {@link LevelMapper}.
+ *   Levels without an equivalent in a secondary backend are not applied to it.
+ * </p>
+ */
+final class CompositeLoggingAdmin implements LoggingAdmin {
+
+    private final LoggingAdmin primary;
+    private final List<Secondary> secondaries = new ArrayList<>();
+    private final LevelBatcher batcher = new LevelBatcher(this);
+
+    CompositeLoggingAdmin(LoggingAdmin primary, List<LoggingAdmin> secondaries) {
+        this.primary = primary;
+        secondaries.forEach(admin -> this.secondaries.add(new Secondary(admin)));
+    }
+
+    @Override
+    public List<String> getSupportedLevels() {
+        return primary.getSupportedLevels();
+    }
+
+    @Override
+    public Map<String, @Nullable String> getLevels() {
+        return primary.getLevels();
+    }
+
+    @Override
+    public Map<String, @Nullable String> getLevels(String loggerName) {
+        return primary.getLevels(loggerName);
+    }
+
+    @Override
+    public Stream<Map.Entry<String, @Nullable String>> streamLevels(String loggerName) {
+        return primary.streamLevels(loggerName);
+    }
+
+    @Override
+    public @Nullable String getLevel(String loggerName) {
+        return primary.getLevel(loggerName);
+    }
+
+    @Override
+    public @Nullable String getEffectiveLevel(String loggerName) {
+        return primary.getEffectiveLevel(loggerName);
+    }
+
+    @Override
+    public boolean isEnabled(String loggerName, String level) {
+        return primary.isEnabled(loggerName, level);
+    }
+
+    @Override
+    public void setLevel(String loggerName, @Nullable String level) {
+        setLevels(Collections.singletonMap(loggerName, level));
+    }
+
+    @Override
+    public void setLevels(Map<String, @Nullable String> levels) {
+        primary.setLevels(levels);
+        setSecondaryLevels(levels);
+    }
+
+    @Override
+    public boolean compareAndSetLevel(String loggerName, @Nullable String expected, @Nullable String level) {
+        // Only the primary admin decides, the secondary backends follow it
+        if (!primary.compareAndSetLevel(loggerName, expected, level)) {
+            return false;
+        }
+        setSecondaryLevels(Collections.singletonMap(loggerName, level));
+        return true;
+    }
+
+    @Override
+    public boolean setLevelsIfVersion(long version, Map<String, @Nullable String> levels) {
+        if (!primary.setLevelsIfVersion(version, levels)) {
+            return false;
+        }
+        setSecondaryLevels(levels);
+        return true;
+    }
+
+    private void setSecondaryLevels(Map<String, @Nullable String> levels) {
+        for (Secondary secondary : secondaries) {
+            Map<String, @Nullable String> mapped = secondary.map(levels);
+            if (!mapped.isEmpty()) {
+                secondary.admin.setLevels(mapped);
+            }
+        }
+    }
+
+    @Override
+    public Set<String> setLevelsMatching(String pattern, @Nullable String level) {
+        Set<String> loggerNames =
+                LoggerNamePattern.compile(pattern).match(getLevels().keySet());
+        if (!loggerNames.isEmpty()) {
+            Map<String, @Nullable String> levels = new HashMap<>();
+            loggerNames.forEach(loggerName -> levels.put(loggerName, level));
+            setLevels(levels);
+        }
+        return loggerNames;
+    }
+
+    @Override
+    public CompletableFuture<Void> setLevelAsync(String loggerName, @Nullable String level) {
+        return batcher.submit(loggerName, level);
+    }
+
+    @Override
+    public void setLevel(String loggerName, @Nullable String level, Duration ttl) {
+        primary.setLevel(loggerName, level, ttl);
+        for (Secondary secondary : secondaries) {
+            String mappedLevel = level != null ? secondary.mapper.map(level) : null;
+            if (level == null || mappedLevel != null) {
+                secondary.admin.setLevel(loggerName, mappedLevel, ttl);
+            }
+        }
+    }
+
+    @Override
+    public int compactLevels() {
+        int removed = primary.compactLevels();
+        for (Secondary secondary : secondaries) {
+            removed += secondary.admin.compactLevels();
+        }
+        return removed;
+    }
+
+    @Override
+    public void registerLevelProfile(String profileName, Map<String, @Nullable String> levels) {
+        primary.registerLevelProfile(profileName, levels);
+        for (Secondary secondary : secondaries) {
+            secondary.admin.registerLevelProfile(profileName, secondary.map(levels));
+        }
+    }
+
+    @Override
+    public void activateLevelProfile(String profileName) {
+        primary.activateLevelProfile(profileName);
+        for (Secondary secondary : secondaries) {
+            secondary.admin.activateLevelProfile(profileName);
+        }
+    }
+
+    @Override
+    public @Nullable String getActiveLevelProfile() {
+        return primary.getActiveLevelProfile();
+    }
+
+    @Override
+    public long getLevelsVersion() {
+        return primary.getLevelsVersion();
+    }
+
+    @Override
+    public LevelChanges getLevelChangesSince(long version) {
+        return primary.getLevelChangesSince(version);
+    }
+
+    @Override
+    public void addLevelChangeListener(Consumer<LevelChanges> listener) {
+        primary.addLevelChangeListener(listener);
+    }
+
+    @Override
+    public void removeLevelChangeListener(Consumer<LevelChanges> listener) {
+        primary.removeLevelChangeListener(listener);
+    }
+
+    @Override
+    public void setEventCounting(boolean enabled) {
+        // Events are logged through the primary backend
+        primary.setEventCounting(enabled);
+    }
+
+    @Override
+    public List<EventCount> getTopEventCounts(int limit) {
+        return primary.getTopEventCounts(limit);
+    }
+
+    @Override
+    public void startLevelGovernor(long maxEventsPerSecond) {
+        primary.startLevelGovernor(maxEventsPerSecond);
+    }
+
+    @Override
+    public void stopLevelGovernor() {
+        primary.stopLevelGovernor();
+    }
+
+    private static final class Secondary {
+
+        private final LoggingAdmin admin;
+        private final LevelMapper mapper;
+
+        private Secondary(LoggingAdmin admin) {
+            this.admin = admin;
+            this.mapper = new LevelMapper(admin.getSupportedLevels());
+        }
+
+        /**
+         * Maps levels to this backend, skipping the levels without an equivalent.
+         */
+        private Map<String, @Nullable String> map(Map<String, @Nullable String> levels) {
+            Map<String, @Nullable String> mapped = new HashMap<>();
+            levels.forEach((loggerName, level) -> {
+                String mappedLevel = level != null ? mapper.map(level) : null;
+                if (level == null || mappedLevel != null) {
+                    mapped.put(loggerName, mappedLevel);
+                }
+            });
+            return mapped;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.admin.EventCount;
+
+/**
+ * Counts log events per logger and level.
+ * <p>
+ *   Each logger has an array of striped {@link LongAdder}s, one per supported level, created on its first event.
+ *   Afterwards, counting an event requires two hash lookups and does not allocate.
+ * </p>
+ */
+final class EventCounters {
+
+    private final List<String> levels;
+    private final Map<String, Integer> levelIndexes = new HashMap<>();
+    private final ConcurrentMap<String, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @param levels The supported levels of the logging backend.
+     */
+    EventCounters(List<String> levels) {
+        this.levels = levels;
+        for (int i = 0; i < levels.size(); i++) {
+            levelIndexes.put(levels.get(i), i);
+        }
+    }
+
+    /**
+     * Counts an event.
+     *
+     * @param loggerName The name of the logger.
+     * @param level The name of the level. Unsupported levels are ignored.
+     */
+    void increment(String loggerName, String level) {
+        Integer index = levelIndexes.get(level);
+        if (index == null) {
+            return;
+        }
+        LongAdder[] adders = counters.get(loggerName);
+        if (adders == null) {
+            adders = counters.computeIfAbsent(loggerName, this::createAdders);
+        }
+        adders[index].increment();
+    }
+
+    private LongAdder[] createAdders(String loggerName) {
+        LongAdder[] adders = new LongAdder[levels.size()];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Returns a map associating each logger with its number of events at all levels.
+     */
+    Map<String, Long> getTotals() {
+        Map<String, Long> totals = new HashMap<>();
+        counters.forEach((loggerName, adders) -> {
+            long total = 0;
+            for (LongAdder adder : adders) {
+                total += adder.sum();
+            }
+            totals.put(loggerName, total);
+        });
+        return totals;
+    }
+
+    /**
+     * Returns the highest counts in decreasing order.
+     *
+     * @param limit The maximal number of results.
+     */
+    List<EventCount> getTop(int limit) {
+        Comparator<EventCount> order = Comparator.comparingLong(EventCount::getCount);
+        PriorityQueue<EventCount> top = new PriorityQueue<>(order);
+        if (limit > 0) {
+            counters.forEach((loggerName, adders) -> {
+                for (int i = 0; i < adders.length; i++) {
+                    long count = adders[i].sum();
+                    if (count > 0
+                            && (top.size() < limit || count > top.element().getCount())) {
+                        top.offer(new EventCount(loggerName, levels.get(i), count));
+                        if (top.size() > limit) {
+                            top.poll();
+                        }
+                    }
+                }
+            });
+        }
+        List<EventCount> result = new ArrayList<>(top);
+        result.sort(order.reversed());
+        return result;
+    }
+}
@@ -20,11 +20,19 @@ import aQute.bnd.annotation.Cardinality;
 import aQute.bnd.annotation.Resolution;
 import aQute.bnd.annotation.spi.ServiceConsumer;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.logging.admin.LoggingAdmin;
 import org.apache.logging.admin.spi.LoggingAdminFactory;
+import org.jspecify.annotations.Nullable;
 
 @ServiceConsumer(
         value = LoggingAdminFactory.class,
@@ -32,21 +40,131 @@ import org.apache.logging.admin.spi.LoggingAdminFactory;
         resolution = Resolution.MANDATORY)
 public final class FactoryUtil {
 
-    private static final Collection<LoggingAdminFactory> factories = new ArrayList<>();
+    /**
+     * If {@code true}, level changes are applied to all the active logging backends.
+     */
+    public static final String COMPOSITE_PROPERTY = "org.apache.logging.admin.composite";
+
+    /**
+     * Pins the logging backend: either {@code log4j}, {@code logback}, {@code jul} or the class name of a factory.
+     * <p>
+     *   Only the pinned factory is probed and composite mode is disabled.
+     * </p>
+     */
+    public static final String FACTORY_PROPERTY = "org.apache.logging.admin.factory";
+
+    private static final Map<String, String> ALIASES;
 
     static {
-        ServiceLoader.load(LoggingAdminFactory.class, FactoryUtil.class.getClassLoader())
-                .forEach(factories::add);
+        Map<String, String> aliases = new HashMap<>();
+        aliases.put("log4j", Log4jCoreAdminFactory.class.getName());
+        aliases.put("logback", LogbackAdminFactory.class.getName());
+        aliases.put("jul", JulAdminFactory.class.getName());
+        ALIASES = Collections.unmodifiableMap(aliases);
+    }
+
+    /**
+     * Loads the factories on first use, so that merely referencing this class does not scan the class path.
+     */
+    private static final class Factories {
+        private static final List<LoggingAdminFactory> SORTED = load();
+
+        private static List<LoggingAdminFactory> load() {
+            List<LoggingAdminFactory> factories = new ArrayList<>();
+            ServiceLoader.load(LoggingAdminFactory.class, FactoryUtil.class.getClassLoader())
+                    .forEach(factories::add);
+            factories.sort(Comparator.comparing(LoggingAdminFactory::getPriority));
+            return Collections.unmodifiableList(factories);
+        }
     }
 
+    // The active factories are resolved only once
+    private static volatile @Nullable LoggingAdminFactory activeFactory;
+    private static volatile @Nullable List<LoggingAdminFactory> secondaryFactories;
+
     public static LoggingAdmin getLoggingAdmin(Object token) {
+        LoggingAdmin admin = getActiveFactory().getLoggingAdmin(token);
+        if (!Boolean.getBoolean(COMPOSITE_PROPERTY) || System.getProperty(FACTORY_PROPERTY) != null) {
+            return admin;
+        }
+        List<LoggingAdminFactory> secondaries = secondaryFactories;
+        if (secondaries == null) {
+            secondaryFactories =
+                    secondaries = findActiveFactories(Factories.SORTED).skip(1).collect(Collectors.toList());
+        }
+        if (secondaries.isEmpty()) {
+            return admin;
+        }
+        List<LoggingAdminFactory> factories = secondaries;
+        Supplier<LoggingAdmin> composite = () -> new CompositeLoggingAdmin(
+                admin, factories.stream().map(f -> f.getLoggingAdmin(token)).collect(Collectors.toList()));
+        // The composite admin is cached next to the primary admin, which is cached per logger context
+        return admin instanceof AbstractLoggingAdmin
+                ? ((AbstractLoggingAdmin) admin).getCompositeAdmin(composite)
+                : composite.get();
+    }
+
+    /**
+     * Returns the admins of the logger contexts of the active logging backend.
+     *
+     * @param token A security token.
+     * @return A map associating the name of each logger context of the active logging backend with its admin.
+     */
+    public static Map<String, LoggingAdmin> getLoggingAdmins(Object token) {
+        return getActiveFactory().getLoggingAdmins(token);
+    }
+
+    /**
+     * Adds an admin to a map, making the logger context name unique if necessary.
+     */
+    static void putUnique(Map<String, LoggingAdmin> admins, String contextName, LoggingAdmin admin) {
+        String key = contextName;
+        for (int i = 2; admins.containsKey(key); i++) {
+            key = contextName + "#" + i;
+        }
+        admins.put(key, admin);
+    }
+
+    private static LoggingAdminFactory getActiveFactory() {
+        LoggingAdminFactory factory = activeFactory;
+        if (factory == null) {
+            // Concurrent resolutions give the same result
+            activeFactory = factory = selectFactory(Factories.SORTED, System.getProperty(FACTORY_PROPERTY));
+        }
+        return factory;
+    }
+
+    /**
+     * Selects the pinned factory or the first active one.
+     *
+     * @param factories The available factories sorted by priority.
+     * @param pinned The value of {@link #FACTORY_PROPERTY}.
+     */
+    static LoggingAdminFactory selectFactory(List<LoggingAdminFactory> factories, @Nullable String pinned) {
+        if (pinned == null) {
+            return findActiveFactories(factories).findFirst().orElseThrow(FactoryUtil::noActiveFactory);
+        }
+        String className = ALIASES.getOrDefault(pinned.trim().toLowerCase(Locale.ROOT), pinned.trim());
         LoggingAdminFactory factory = factories.stream()
-                .filter(LoggingAdminFactory::isActive)
-                .sorted(Comparator.comparing(LoggingAdminFactory::getPriority))
-                .findAny()
-                .orElseThrow(() ->
-                        new IllegalStateException("No active " + LoggingAdminFactory.class.getName() + " found."));
-        return factory.getLoggingAdmin(token);
+                .filter(f -> f.getClass().getName().equals(className))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Logging admin factory " + className + " not found."));
+        if (!factory.isActive()) {
+            throw new IllegalStateException("Logging admin factory " + className + " is not active.");
+        }
+        return factory;
+    }
+
+    /**
+     * Lazily checks which factories are active in priority order, so that backends following the first active one
+     * are never initialized unless requested.
+     */
+    private static Stream<LoggingAdminFactory> findActiveFactories(List<LoggingAdminFactory> factories) {
+        return factories.stream().filter(LoggingAdminFactory::isActive);
+    }
+
+    private static IllegalStateException noActiveFactory() {
+        return new IllegalStateException("No active " + LoggingAdminFactory.class.getName() + " found.");
     }
 
     private FactoryUtil() {}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import org.apache.logging.admin.LoggingAdmin;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Associates the logging admin of a logger context with the security token of the context.
+ * <p>
+ *   Instances are stored in the logger context itself, so that admins can be retrieved without locking.
+ *   The admin is only returned to callers that provide the matching token.
+ * </p>
+ */
+final class GuardedAdmin {
+
+    /**
+     * The key used to store instances in the object map of a logger context.
+     */
+    static final String KEY = LoggingAdmin.class.getName();
+
+    private final Object token;
+    private final LoggingAdmin admin;
+
+    GuardedAdmin(Object token, LoggingAdmin admin) {
+        this.token = token;
+        this.admin = admin;
+    }
+
+    /**
+     * Returns the admin, if the token matches.
+     *
+     * @param token A security token.
+     * @return The admin or {@code null} if the token does not match.
+     */
+    @Nullable
+    LoggingAdmin get(Object token) {
+        return this.token == token ? admin : null;
+    }
+
+    /**
+     * Returns the admin stored in the object map of a logger context, if the token matches.
+     *
+     * @param guard The value stored in the object map of a logger context.
+     * @param token A security token.
+     * @return The admin, if the value is an instance of this class and the token matches, or {@code null} otherwise.
+     */
+    static @Nullable LoggingAdmin get(@Nullable Object guard, Object token) {
+        return guard instanceof GuardedAdmin ? ((GuardedAdmin) guard).get(token) : null;
+    }
+}
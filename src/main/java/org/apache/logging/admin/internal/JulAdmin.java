@@ -16,25 +16,63 @@
  */
 package org.apache.logging.admin.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.logging.admin.LoggingAdmin;
 import org.jspecify.annotations.Nullable;
 
-class JulAdmin implements LoggingAdmin {
+/**
+ * Administers the levels of {@code java.util.logging}.
+ * <p>
+ *   JUL only keeps weak references to its loggers, so a level set on a logger that is not referenced elsewhere is lost
+ *   when the logger is garbage collected. On Java 9+, levels are also stored as {@code <logger>.level} configuration
+ *   properties, which apply to recreated loggers. On Java 8, the admin keeps a strong reference to the loggers that
+ *   it creates to set their level, until their level is reset to {@code null}.
+ * </p>
+ */
+class JulAdmin extends AbstractLoggingAdmin {
+
+    private static final String LEVEL_SUFFIX = ".level";
+
+    // `LogManager.updateConfiguration()` requires Java 9+
+    private static final @Nullable Method updateConfiguration = findUpdateConfiguration();
+    // Loggers whose level is set by a `.level` property, but may not exist yet
+    private static final Set<String> pendingLoggerNames = ConcurrentHashMap.newKeySet();
+    // On Java 8, loggers must be created and kept reachable to retain their level, until it is reset
+    private static final Map<String, Logger> retainedLoggers = new ConcurrentHashMap<>();
 
     private static final ReentrantLock lock = new ReentrantLock();
     private static final Map<Logger, Object> tokensByRootLogger = new WeakHashMap<>();
+    private static final Map<Logger, LevelJournal> journalsByRootLogger = new WeakHashMap<>();
+    // Admin of the last root logger
+    private static volatile @Nullable GuardedAdmin guardedAdmin;
 
     private static final List<String> levels = Collections.unmodifiableList(Stream.of(
                     Level.OFF,
@@ -52,7 +90,8 @@ class JulAdmin implements LoggingAdmin {
     private final LogManager logManager = LogManager.getLogManager();
     private final Logger rootLogger;
 
-    JulAdmin(Logger rootLogger) {
+    JulAdmin(Logger rootLogger, LevelJournal journal) {
+        super(journal);
         this.rootLogger = rootLogger;
     }
 
@@ -63,37 +102,179 @@ class JulAdmin implements LoggingAdmin {
 
     @Override
     public Map<String, @Nullable String> getLevels() {
-        final Map<String, @Nullable String> loggerLevels = new HashMap<>();
-        Collections.list(logManager.getLoggerNames()).forEach(loggerName -> fillLoggerLevels(loggerName, loggerLevels));
-        return loggerLevels;
+        return getLoggerNames(ROOT_LOGGER_NAME).resolve(this::getLevel);
+    }
+
+    @Override
+    public Map<String, @Nullable String> getLevels(String loggerName) {
+        return getLoggerNames(loggerName).resolve(loggerName, this::getLevel);
+    }
+
+    @Override
+    public Stream<Map.Entry<String, @Nullable String>> streamLevels(String loggerName) {
+        return getLoggerNames(loggerName).stream(loggerName, this::getLevel);
+    }
+
+    /**
+     * Builds the hierarchy of the existing loggers and loggers with a pending level in a subtree.
+     */
+    private LoggerNameTrie getLoggerNames(String loggerName) {
+        LoggerNameTrie loggerNames = new LoggerNameTrie();
+        Enumeration<String> names = logManager.getLoggerNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            if (LoggerNames.isInSubtree(name, loggerName)) {
+                loggerNames.add(name);
+            }
+        }
+        for (String name : pendingLoggerNames) {
+            if (LoggerNames.isInSubtree(name, loggerName) && getPendingLevel(name) != null) {
+                loggerNames.add(name);
+            }
+        }
+        return loggerNames;
     }
 
     @Override
     public @Nullable String getLevel(String loggerName) {
-        return Optional.ofNullable(logManager.getLogger(loggerName))
-                .map(Logger::getLevel)
-                .map(Level::getName)
-                .orElse(null);
+        Logger logger = logManager.getLogger(loggerName);
+        if (logger == null) {
+            return getPendingLevel(loggerName);
+        }
+        Level level = logger.getLevel();
+        return level != null ? level.getName() : null;
+    }
+
+    /**
+     * Retrieves the level that will be applied to a logger when it is created.
+     */
+    private @Nullable String getPendingLevel(String loggerName) {
+        String value = logManager.getProperty(loggerName + LEVEL_SUFFIX);
+        if (value != null) {
+            try {
+                return Level.parse(value.trim()).getName();
+            } catch (IllegalArgumentException e) {
+                // Ignored by `java.util.logging` too
+            }
+        }
+        return null;
     }
 
     @Override
-    public void setLevel(String loggerName, @Nullable String level) {
+    public @Nullable String getEffectiveLevel(String loggerName) {
         Logger logger = logManager.getLogger(loggerName);
-        Logger rootLogger = findRootLogger(logger);
-        // Prevents setting the log level of a different "logger context"
-        if (this.rootLogger.equals(rootLogger)) {
-            logger.setLevel(level != null ? Level.parse(level) : null);
+        if (logger == null) {
+            return super.getEffectiveLevel(loggerName);
+        }
+        // Walks the parent loggers, without any lookup
+        for (Logger current = logger; current != null; current = current.getParent()) {
+            Level level = current.getLevel();
+            if (level != null) {
+                return level.getName();
+            }
         }
+        return null;
     }
 
-    private void fillLoggerLevels(String loggerName, Map<String, @Nullable String> loggerLevels) {
-        String currentName = loggerName;
-        while (loggerLevels.putIfAbsent(currentName, getLevel(currentName)) == null) {
-            if (currentName.isEmpty()) {
-                break;
+    @Override
+    CompiledLevels compileLevels(Map<String, @Nullable String> levels) {
+        Map<String, @Nullable Level> levelObjs = new LinkedHashMap<>();
+        levels.forEach((loggerName, level) -> {
+            Logger logger = logManager.getLogger(loggerName);
+            // Prevents setting the log level of a different "logger context"
+            if (logger == null || this.rootLogger.equals(findRootLogger(logger))) {
+                levelObjs.put(loggerName, level != null ? Level.parse(level) : null);
+            }
+        });
+        return () -> {
+            if (updateConfiguration != null) {
+                // Loggers created later or recreated after garbage collection receive the same level
+                updateLevelProperties(levelObjs);
             }
-            int idx = currentName.lastIndexOf('.');
-            currentName = idx == -1 ? "" : currentName.substring(0, idx);
+            levelObjs.forEach((loggerName, level) -> {
+                Logger logger = logManager.getLogger(loggerName);
+                if (updateConfiguration == null) {
+                    if (level == null) {
+                        retainedLoggers.remove(loggerName);
+                    } else if (logger == null) {
+                        logger = retainedLoggers.computeIfAbsent(loggerName, Logger::getLogger);
+                    }
+                }
+                if (logger != null) {
+                    logger.setLevel(level);
+                }
+            });
+        };
+    }
+
+    /**
+     * Modifies the {@code <logger>.level} configuration properties using a single reconfiguration.
+     */
+    private void updateLevelProperties(Map<String, @Nullable Level> levels) {
+        Properties properties = new Properties();
+        Set<String> keys = new HashSet<>();
+        levels.forEach((loggerName, level) -> {
+            String key = loggerName + LEVEL_SUFFIX;
+            keys.add(key);
+            if (level != null) {
+                properties.setProperty(key, level.getName());
+            }
+        });
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            properties.store(output, null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        // Other properties keep their current value
+        Function<String, BiFunction<@Nullable String, @Nullable String, @Nullable String>> mapper =
+                key -> keys.contains(key) ? (oldValue, newValue) -> newValue : (oldValue, newValue) -> oldValue;
+        try {
+            updateConfiguration.invoke(logManager, new ByteArrayInputStream(output.toByteArray()), mapper);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException
+                    ? (RuntimeException) cause
+                    : new IllegalStateException("Unable to update the logging configuration", cause);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        levels.forEach((loggerName, level) -> {
+            if (level != null) {
+                pendingLoggerNames.add(loggerName);
+            } else {
+                pendingLoggerNames.remove(loggerName);
+            }
+        });
+    }
+
+    @Override
+    @Nullable
+    EventCounters findEventCounters() {
+        EventCountingHandler handler = findEventCountingHandler();
+        return handler != null ? handler.counters : null;
+    }
+
+    private @Nullable EventCountingHandler findEventCountingHandler() {
+        for (Handler handler : rootLogger.getHandlers()) {
+            if (handler instanceof EventCountingHandler) {
+                return (EventCountingHandler) handler;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    void installEventCounters(EventCounters counters) {
+        // Logger filters are not inherited, so the handlers of the root logger are the only global hook
+        rootLogger.addHandler(new EventCountingHandler(counters));
+    }
+
+    @Override
+    void uninstallEventCounters() {
+        EventCountingHandler handler = findEventCountingHandler();
+        if (handler != null) {
+            rootLogger.removeHandler(handler);
         }
     }
 
@@ -117,15 +298,126 @@ class JulAdmin implements LoggingAdmin {
     }
 
     static LoggingAdmin newInstance(Object token) {
+        Logger rootLogger = Logger.getLogger("");
+        // Lock-free fast path
+        LoggingAdmin admin = findCachedAdmin(rootLogger, token);
+        if (admin != null) {
+            return admin;
+        }
         lock.lock();
         try {
-            Logger rootLogger = Logger.getLogger("");
             if (tokensByRootLogger.computeIfAbsent(rootLogger, k -> token) != token) {
                 throw new SecurityException("The security token does not match: " + token);
             }
-            return new JulAdmin(rootLogger);
+            // Another thread might have created the admin while we were waiting for the lock
+            admin = findCachedAdmin(rootLogger, token);
+            if (admin == null) {
+                LevelJournal journal = journalsByRootLogger.computeIfAbsent(rootLogger, k -> createJournal());
+                admin = new JulAdmin(rootLogger, journal);
+                guardedAdmin = new GuardedAdmin(token, admin);
+            }
+            return admin;
         } finally {
             lock.unlock();
         }
     }
+
+    /**
+     * Returns the cached admin, if it administers the given root logger and the token matches.
+     */
+    private static @Nullable LoggingAdmin findCachedAdmin(Logger rootLogger, Object token) {
+        GuardedAdmin guard = guardedAdmin;
+        LoggingAdmin admin = guard != null ? guard.get(token) : null;
+        return admin instanceof JulAdmin && ((JulAdmin) admin).rootLogger == rootLogger ? admin : null;
+    }
+
+    private static @Nullable Method findUpdateConfiguration() {
+        try {
+            return LogManager.class.getMethod("updateConfiguration", InputStream.class, Function.class);
+        } catch (NoSuchMethodException e) {
+            // Java 8
+            return null;
+        }
+    }
+
+    /**
+     * Finds the loggers with a level in the configuration file, since {@link LogManager} does not list its properties.
+     */
+    private static Set<String> readConfiguredLoggerNames() {
+        Set<String> loggerNames = new HashSet<>();
+        if (System.getProperty("java.util.logging.config.class") != null) {
+            return loggerNames;
+        }
+        String configFile = System.getProperty("java.util.logging.config.file");
+        String javaHome = System.getProperty("java.home", "");
+        Stream<Path> candidates = configFile != null
+                ? Stream.of(Paths.get(configFile))
+                : Stream.of(
+                        Paths.get(javaHome, "conf", "logging.properties"),
+                        Paths.get(javaHome, "lib", "logging.properties"));
+        candidates.filter(Files::isRegularFile).findFirst().ifPresent(path -> {
+            Properties properties = new Properties();
+            try (InputStream input = Files.newInputStream(path)) {
+                properties.load(input);
+            } catch (IOException | RuntimeException e) {
+                return;
+            }
+            // Handlers also have a `.level` property
+            Set<String> handlerNames = new HashSet<>();
+            properties.stringPropertyNames().stream()
+                    .filter(key -> key.equals("handlers") || key.endsWith(".handlers"))
+                    .flatMap(key -> Stream.of(properties.getProperty(key).split("[\\s,]+")))
+                    .forEach(handlerNames::add);
+            properties.stringPropertyNames().stream()
+                    .filter(key -> key.endsWith(LEVEL_SUFFIX))
+                    .map(key -> key.substring(0, key.length() - LEVEL_SUFFIX.length()))
+                    .filter(loggerName -> !handlerNames.contains(loggerName))
+                    .forEach(loggerNames::add);
+        });
+        return loggerNames;
+    }
+
+    private static LevelJournal createJournal() {
+        pendingLoggerNames.addAll(readConfiguredLoggerNames());
+        // `java.util.logging` does not notify level changes
+        LevelJournal journal = new LevelJournal(LevelJournal.Tracking.NONE);
+        // Java 9+ notifies the changes caused by `readConfiguration()` and `updateConfiguration()`
+        try {
+            LogManager.class
+                    .getMethod("addConfigurationListener", Runnable.class)
+                    .invoke(LogManager.getLogManager(), (Runnable) journal::invalidate);
+        } catch (ReflectiveOperationException e) {
+            // Java 8
+        }
+        return journal;
+    }
+
+    /**
+     * A handler of the root logger that counts the log events.
+     * <p>
+     *   Events of loggers that do not use their parent handlers are not counted.
+     * </p>
+     */
+    private static final class EventCountingHandler extends Handler {
+
+        private final EventCounters counters;
+
+        private EventCountingHandler(EventCounters counters) {
+            this.counters = counters;
+        }
+
+        @Override
+        public void publish(LogRecord record) {
+            String loggerName = record.getLoggerName();
+            counters.increment(
+                    loggerName != null ? loggerName : ROOT_LOGGER_NAME,
+                    record.getLevel().getName());
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
 }
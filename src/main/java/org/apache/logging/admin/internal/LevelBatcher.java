@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.admin.LoggingAdmin;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Coalesces asynchronous level changes into batches.
+ * <p>
+ *   The first change after a flush schedules a new flush on the {@link AdminScheduler}, after
+ *   {@link #COALESCING_WINDOW_MILLIS}. The flush applies all the pending changes using a single call to
+ *   {@link LoggingAdmin#setLevels}. If the batch is rejected, the changes are applied one by one, so that only the
+ *   invalid changes fail.
+ * </p>
+ */
+final class LevelBatcher {
+
+    static final long COALESCING_WINDOW_MILLIS = 10;
+
+    private final LoggingAdmin admin;
+    // Guarded by `this`
+    private List<Change> pending = new ArrayList<>();
+    private @Nullable ScheduledFuture<?> flushTask;
+
+    LevelBatcher(LoggingAdmin admin) {
+        this.admin = admin;
+    }
+
+    /**
+     * Queues a level change.
+     *
+     * @return A future completed when the change has been applied.
+     */
+    CompletableFuture<Void> submit(String loggerName, @Nullable String level) {
+        Change change = new Change(loggerName, level);
+        synchronized (this) {
+            if (flushTask == null) {
+                flushTask = AdminScheduler.get().schedule(this::flush, COALESCING_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            pending.add(change);
+        }
+        return change.future;
+    }
+
+    private void flush() {
+        List<Change> changes;
+        synchronized (this) {
+            changes = pending;
+            pending = new ArrayList<>();
+            flushTask = null;
+        }
+        // The last change of each logger wins
+        Map<String, @Nullable String> levels = new HashMap<>();
+        changes.forEach(change -> levels.put(change.loggerName, change.level));
+        try {
+            admin.setLevels(levels);
+        } catch (IllegalArgumentException e) {
+            changes.forEach(this::apply);
+            return;
+        } catch (RuntimeException e) {
+            changes.forEach(change -> change.future.completeExceptionally(e));
+            return;
+        }
+        changes.forEach(change -> change.future.complete(null));
+    }
+
+    private void apply(Change change) {
+        try {
+            admin.setLevel(change.loggerName, change.level);
+            change.future.complete(null);
+        } catch (RuntimeException e) {
+            change.future.completeExceptionally(e);
+        }
+    }
+
+    private static final class Change {
+
+        private final String loggerName;
+        private final @Nullable String level;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Change(String loggerName, @Nullable String level) {
+            this.loggerName = loggerName;
+            this.level = level;
+        }
+    }
+}
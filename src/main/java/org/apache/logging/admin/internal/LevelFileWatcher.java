@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.admin.LoggingAdmin;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Applies the level overrides of a properties file and follows its modifications.
+ * <p>
+ *   The {@link WatchService} of the parent directory is polled by the {@link AdminScheduler}, so all the events of a
+ *   polling period result in a single reload. Each reload only applies the entries that differ from the previous
+ *   contents of the file, using a single call to {@link LoggingAdmin#setLevels}.
+ * </p>
+ */
+public final class LevelFileWatcher implements Closeable {
+
+    static final long POLL_PERIOD_MILLIS = 500;
+
+    private final LoggingAdmin admin;
+    private final Path file;
+    private final Path fileName;
+    private final WatchService watchService;
+    private final @Nullable ScheduledFuture<?> task;
+    // Guarded by `this`
+    private Map<String, @Nullable String> applied = Collections.emptyMap();
+    private final Map<String, @Nullable String> originalLevels = new HashMap<>();
+
+    private LevelFileWatcher(LoggingAdmin admin, Path file, Path fileName, WatchService watchService, boolean poll) {
+        this.admin = admin;
+        this.file = file;
+        this.fileName = fileName;
+        this.watchService = watchService;
+        this.task = poll
+                ? AdminScheduler.get()
+                        .scheduleWithFixedDelay(
+                                this::poll, POLL_PERIOD_MILLIS, POLL_PERIOD_MILLIS, TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    /**
+     * Applies the level overrides of a file and starts watching it.
+     *
+     * @param admin The admin used to modify levels.
+     * @param file A properties file associating logger names with levels.
+     * @return The watcher, which must be closed to stop watching the file.
+     * @throws IOException If the parent directory of the file cannot be watched.
+     * @throws IllegalArgumentException If the path has no parent directory or file name.
+     */
+    public static LevelFileWatcher watch(LoggingAdmin admin, Path file) throws IOException {
+        return watch(admin, file, true);
+    }
+
+    static LevelFileWatcher watch(LoggingAdmin admin, Path file, boolean poll) throws IOException {
+        Path absoluteFile = file.toAbsolutePath();
+        Path directory = absoluteFile.getParent();
+        Path fileName = absoluteFile.getFileName();
+        if (directory == null || fileName == null) {
+            throw new IllegalArgumentException("Not a file path: " + file);
+        }
+        WatchService watchService = directory.getFileSystem().newWatchService();
+        try {
+            directory.register(
+                    watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+        LevelFileWatcher watcher = new LevelFileWatcher(admin, absoluteFile, fileName, watchService, poll);
+        try {
+            watcher.reload();
+        } catch (RuntimeException | Error e) {
+            // The caller never gets a handle to stop the polling
+            watcher.close();
+            throw e;
+        }
+        return watcher;
+    }
+
+    private synchronized void poll() {
+        boolean modified = false;
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    modified |= event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context());
+                }
+                key.reset();
+            }
+        } catch (ClosedWatchServiceException e) {
+            return;
+        }
+        if (modified) {
+            reload();
+        }
+    }
+
+    /**
+     * Applies the entries of the file that changed since the last reload.
+     * <p>
+     *   Removed entries restore the level that the logger had before the first override. If the file cannot be
+     *   read or contains an unsupported level, nothing is applied until the next modification.
+     * </p>
+     */
+    synchronized void reload() {
+        Map<String, @Nullable String> levels;
+        try {
+            levels = read(file);
+        } catch (IOException | IllegalArgumentException e) {
+            return;
+        }
+        Map<String, @Nullable String> changes = new HashMap<>();
+        Map<String, @Nullable String> addedOriginalLevels = new HashMap<>();
+        for (Map.Entry<String, @Nullable String> entry : levels.entrySet()) {
+            String loggerName = entry.getKey();
+            if (!applied.containsKey(loggerName)) {
+                addedOriginalLevels.put(loggerName, admin.getLevel(loggerName));
+                changes.put(loggerName, entry.getValue());
+            } else if (!Objects.equals(entry.getValue(), applied.get(loggerName))) {
+                changes.put(loggerName, entry.getValue());
+            }
+        }
+        for (String loggerName : applied.keySet()) {
+            if (!levels.containsKey(loggerName)) {
+                changes.put(loggerName, originalLevels.get(loggerName));
+            }
+        }
+        if (!changes.isEmpty()) {
+            try {
+                admin.setLevels(changes);
+            } catch (IllegalArgumentException e) {
+                return;
+            }
+        }
+        originalLevels.keySet().retainAll(levels.keySet());
+        originalLevels.putAll(addedOriginalLevels);
+        applied = levels;
+    }
+
+    /**
+     * Reads a properties file, in which an empty value means that the logger inherits its level.
+     * <p>
+     *   A missing file has no entries.
+     * </p>
+     */
+    private static Map<String, @Nullable String> read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (NoSuchFileException e) {
+            return Collections.emptyMap();
+        }
+        Map<String, @Nullable String> levels = new HashMap<>();
+        for (String loggerName : properties.stringPropertyNames()) {
+            String level = properties.getProperty(loggerName).trim();
+            levels.put(loggerName, level.isEmpty() ? null : level);
+        }
+        return Collections.unmodifiableMap(levels);
+    }
+
+    /**
+     * Stops watching the file. The applied levels are kept.
+     */
+    @Override
+    public void close() throws IOException {
+        if (task != null) {
+            task.cancel(false);
+        }
+        watchService.close();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.logging.admin.LoggingAdmin;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Raises the level of loggers that exceed an event rate budget and restores it once they calm down.
+ * <p>
+ *   Every {@link #SAMPLE_PERIOD_MILLIS}, the event rate of each logger is computed from the event counts.
+ *   Each sample above the budget raises the level of the logger by one step, up to the most severe level other than
+ *   {@code OFF}. A throttled logger is restored after {@link #CALM_SAMPLES} consecutive samples below
+ *   {@link #RESTORE_RATIO} times the budget, which prevents flapping.
+ *   All the level changes of a sample are applied as a single batch.
+ * </p>
+ */
+final class LevelGovernor {
+
+    static final long SAMPLE_PERIOD_MILLIS = 1000;
+    static final double RESTORE_RATIO = 0.5;
+    static final int CALM_SAMPLES = 10;
+
+    private final LoggingAdmin admin;
+    private final Supplier<Map<String, Long>> sampler;
+    private final long maxEventsPerSecond;
+    private final List<String> levels;
+    private final Map<String, Long> previousCounts;
+    private final Map<String, Throttle> throttles = new HashMap<>();
+    private long previousNanoTime;
+    private @Nullable ScheduledFuture<?> task;
+    private boolean stopped;
+
+    /**
+     * @param admin The admin used to modify levels.
+     * @param sampler Returns the total number of events of each logger.
+     * @param maxEventsPerSecond The event rate budget of each logger.
+     * @param nanoTime The current value of {@link System#nanoTime()}.
+     */
+    LevelGovernor(LoggingAdmin admin, Supplier<Map<String, Long>> sampler, long maxEventsPerSecond, long nanoTime) {
+        this.admin = admin;
+        this.sampler = sampler;
+        this.maxEventsPerSecond = maxEventsPerSecond;
+        this.levels = admin.getSupportedLevels();
+        this.previousCounts = new HashMap<>(sampler.get());
+        this.previousNanoTime = nanoTime;
+    }
+
+    synchronized void start() {
+        task = AdminScheduler.get()
+                .scheduleWithFixedDelay(
+                        () -> sample(System.nanoTime()),
+                        SAMPLE_PERIOD_MILLIS,
+                        SAMPLE_PERIOD_MILLIS,
+                        TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling and restores the throttled loggers.
+     * <p>
+     *   A sample that is already waiting for the monitor does nothing, so it cannot throttle a restored logger.
+     * </p>
+     */
+    synchronized void stop() {
+        stopped = true;
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+        Map<String, @Nullable String> restored = new HashMap<>();
+        throttles.forEach((loggerName, throttle) -> restore(loggerName, throttle, restored));
+        throttles.clear();
+        if (!restored.isEmpty()) {
+            admin.setLevels(restored);
+        }
+    }
+
+    /**
+     * Computes the event rates since the previous sample and adjusts the levels.
+     *
+     * @param nanoTime The current value of {@link System#nanoTime()}.
+     */
+    synchronized void sample(long nanoTime) {
+        double seconds = (nanoTime - previousNanoTime) / 1e9;
+        if (stopped || seconds <= 0) {
+            return;
+        }
+        previousNanoTime = nanoTime;
+        Map<String, @Nullable String> changes = new HashMap<>();
+        sampler.get().forEach((loggerName, count) -> {
+            Long previousCount = previousCounts.put(loggerName, count);
+            double rate = (count - (previousCount != null ? previousCount : 0)) / seconds;
+            Throttle throttle = throttles.get(loggerName);
+            if (rate > maxEventsPerSecond) {
+                String current = throttle != null ? throttle.level : admin.getEffectiveLevel(loggerName);
+                String raised = raise(current);
+                if (raised != null) {
+                    if (throttle == null) {
+                        throttle = new Throttle(admin.getLevel(loggerName));
+                        throttles.put(loggerName, throttle);
+                    }
+                    throttle.level = raised;
+                    changes.put(loggerName, raised);
+                }
+                if (throttle != null) {
+                    throttle.calmSamples = 0;
+                }
+            } else if (throttle != null) {
+                throttle.calmSamples = rate < maxEventsPerSecond * RESTORE_RATIO ? throttle.calmSamples + 1 : 0;
+                if (throttle.calmSamples >= CALM_SAMPLES) {
+                    throttles.remove(loggerName);
+                    restore(loggerName, throttle, changes);
+                }
+            }
+        });
+        if (!changes.isEmpty()) {
+            admin.setLevels(changes);
+        }
+    }
+
+    private void restore(String loggerName, Throttle throttle, Map<String, @Nullable String> changes) {
+        // Levels modified after throttling are kept
+        if (Objects.equals(throttle.level, admin.getLevel(loggerName))) {
+            changes.put(loggerName, throttle.originalLevel);
+        }
+    }
+
+    /**
+     * @return The next more severe level, excluding the first supported level, or {@code null} if none.
+     */
+    private @Nullable String raise(@Nullable String level) {
+        int index = level != null ? levels.indexOf(level) : -1;
+        return index > 1 ? levels.get(index - 1) : null;
+    }
+
+    private static final class Throttle {
+
+        private final @Nullable String originalLevel;
+        private @Nullable String level;
+        private int calmSamples;
+
+        private Throttle(@Nullable String originalLevel) {
+            this.originalLevel = originalLevel;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.apache.logging.admin.LevelChanges;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Tracks the configured levels of a logger context and the version in which each of them last changed.
+ * <p>
+ *   Depending on the notifications provided by the logging backend, changes are either recorded as they happen or
+ *   detected by comparing a full scan of the configured levels with the recorded ones.
+ *   A logger that does not appear in the journal has an inherited level.
+ * </p>
+ * <p>
+ *   Listeners are notified asynchronously on the listener thread of the {@link AdminScheduler}. Changes that happen
+ *   in a short time window are coalesced into a single notification.
+ * </p>
+ */
+final class LevelJournal {
+
+    /**
+     * The kind of notifications provided by the logging backend.
+     */
+    enum Tracking {
+        /**
+         * The backend does not notify level changes: each refresh requires a full scan.
+         */
+        NONE,
+        /**
+         * The backend notifies that the configuration changed: a full scan is only required after a notification.
+         */
+        INVALIDATE,
+        /**
+         * The backend notifies each level change, which is recorded directly.
+         */
+        RECORD
+    }
+
+    /**
+     * Delay used to coalesce bursts of changes into a single notification.
+     */
+    private static final long NOTIFICATION_DELAY_MILLIS = 20;
+
+    private final Tracking tracking;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final AtomicLong modCount = new AtomicLong();
+    // Only one scan at a time, so that an older scan never overrides a newer one
+    private final ReentrantLock scanLock = new ReentrantLock();
+    // Serializes the level modifications performed by the admins of the logger context
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private final List<Consumer<LevelChanges>> listeners = new CopyOnWriteArrayList<>();
+    private volatile Supplier<Map<String, @Nullable String>> listenerScanner = Collections::emptyMap;
+    // Only accessed by the scheduler thread
+    private long notifiedVersion;
+
+    // Guarded by `this`
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long version;
+    private @Nullable ScheduledFuture<?> notificationTask;
+
+    LevelJournal(Tracking tracking) {
+        this.tracking = tracking;
+    }
+
+    /**
+     * Called by the logging backend, when the configuration changed in an unspecified way.
+     */
+    void invalidate() {
+        modCount.incrementAndGet();
+        stale.set(true);
+        scheduleNotification();
+    }
+
+    /**
+     * Called by the admin, after it modified some levels.
+     */
+    void levelsModified() {
+        if (tracking != Tracking.RECORD) {
+            invalidate();
+        }
+    }
+
+    /**
+     * The lock held by the admins of the logger context while they modify levels.
+     * <p>
+     *   It is distinct from the monitor of the journal, which the backend acquires while notifying changes.
+     * </p>
+     */
+    ReentrantLock getUpdateLock() {
+        return updateLock;
+    }
+
+    /**
+     * Checks if direct modifications of the backend are always notified to the journal.
+     */
+    boolean isTrackingChanges() {
+        return tracking != Tracking.NONE;
+    }
+
+    /**
+     * A counter that changes each time the backend or the admin notify a possible modification.
+     * <p>
+     *   Unlike the version, it does not require a scan, so it can be used to invalidate caches.
+     * </p>
+     */
+    long getModCount() {
+        return modCount.get();
+    }
+
+    /**
+     * Registers a listener, which receives the level changes asynchronously.
+     *
+     * @param listener A level change listener.
+     * @param scanner Returns the configured levels of all loggers.
+     */
+    void addListener(Consumer<LevelChanges> listener, Supplier<Map<String, @Nullable String>> scanner) {
+        listenerScanner = scanner;
+        if (listeners.isEmpty()) {
+            // Changes that precede the first listener are not notified
+            long version = refresh(scanner);
+            AdminScheduler.get().execute(() -> notifiedVersion = version);
+        }
+        listeners.add(listener);
+    }
+
+    void removeListener(Consumer<LevelChanges> listener) {
+        listeners.remove(listener);
+        synchronized (this) {
+            if (listeners.isEmpty() && notificationTask != null) {
+                notificationTask.cancel(false);
+                notificationTask = null;
+            }
+        }
+    }
+
+    /**
+     * Schedules the notification of the listeners, unless one is already pending.
+     * <p>
+     *   The caller never waits for the listeners.
+     * </p>
+     */
+    private synchronized void scheduleNotification() {
+        if (!listeners.isEmpty() && notificationTask == null) {
+            notificationTask = AdminScheduler.get()
+                    .schedule(this::notifyListeners, NOTIFICATION_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void notifyListeners() {
+        synchronized (this) {
+            // Changes that happen from now on require a new notification
+            notificationTask = null;
+        }
+        refresh(listenerScanner);
+        LevelChanges changes = getChangesSince(notifiedVersion);
+        notifiedVersion = changes.getVersion();
+        if (!changes.getLevels().isEmpty()) {
+            // Listeners run on their own thread, so that they do not delay the scheduler
+            AdminScheduler.getListenerExecutor().execute(() -> {
+                for (Consumer<LevelChanges> listener : listeners) {
+                    try {
+                        listener.accept(changes);
+                    } catch (RuntimeException e) {
+                        // A failing listener must not prevent the notification of the others
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Called by the logging backend, when the level of a logger changed.
+     */
+    synchronized void record(String loggerName, @Nullable String level) {
+        modCount.incrementAndGet();
+        Entry entry = entries.get(loggerName);
+        if (entry != null ? !Objects.equals(entry.level, level) : level != null) {
+            entries.put(loggerName, new Entry(level, ++version));
+            scheduleNotification();
+        }
+    }
+
+    /**
+     * Brings the journal up to date.
+     *
+     * @param scanner Returns the configured levels of all loggers.
+     * @return The current version.
+     */
+    long refresh(Supplier<Map<String, @Nullable String>> scanner) {
+        if (tracking == Tracking.NONE || stale.get()) {
+            scanLock.lock();
+            try {
+                if (tracking == Tracking.NONE || stale.getAndSet(false)) {
+                    long scanVersion = getVersion();
+                    merge(scanner.get(), scanVersion);
+                }
+            } finally {
+                scanLock.unlock();
+            }
+        }
+        return getVersion();
+    }
+
+    synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the changes recorded after a version.
+     *
+     * @param version A version of the journal.
+     */
+    synchronized LevelChanges getChangesSince(long version) {
+        Map<String, @Nullable String> levels = new HashMap<>();
+        if (version < this.version) {
+            entries.forEach((loggerName, entry) -> {
+                if (entry.version > version) {
+                    levels.put(loggerName, entry.level);
+                }
+            });
+        }
+        return new LevelChanges(this.version, levels);
+    }
+
+    /**
+     * Records the differences between a scan and the journal as a single new version.
+     * <p>
+     *   Entries recorded after the scan started are more recent than the scan and are left untouched.
+     * </p>
+     */
+    private synchronized void merge(Map<String, @Nullable String> levels, long scanVersion) {
+        long next = version + 1;
+        boolean changed = false;
+        for (Map.Entry<String, @Nullable String> level : levels.entrySet()) {
+            Entry entry = entries.get(level.getKey());
+            if (entry != null
+                    ? entry.version <= scanVersion && !Objects.equals(entry.level, level.getValue())
+                    : level.getValue() != null) {
+                entries.put(level.getKey(), new Entry(level.getValue(), next));
+                changed = true;
+            }
+        }
+        // Loggers that disappeared from the scan have an inherited level
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Entry value = entry.getValue();
+            if (value.version <= scanVersion && value.level != null && !levels.containsKey(entry.getKey())) {
+                entry.setValue(new Entry(null, next));
+                changed = true;
+            }
+        }
+        if (changed) {
+            version = next;
+        }
+    }
+
+    private static final class Entry {
+
+        private final @Nullable String level;
+        private final long version;
+
+        private Entry(@Nullable String level, long version) {
+            this.level = level;
+            this.version = version;
+        }
+    }
+}
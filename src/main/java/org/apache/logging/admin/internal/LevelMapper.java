@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Maps level names to the supported levels of another logging backend.
+ * <p>
+ *   Levels are compared using a common severity scale, where lower values are more severe.
+ *   A level is mapped to the least verbose target level that enables at least the same events: e.g. {@code DEBUG}
+ *   is mapped to {@code FINE} and {@code FINER} to {@code TRACE}.
+ * </p>
+ */
+final class LevelMapper {
+
+    private static final Map<String, Integer> SEVERITIES = new HashMap<>();
+
+    static {
+        SEVERITIES.put("OFF", 0);
+        SEVERITIES.put("FATAL", 100);
+        SEVERITIES.put("SEVERE", 200);
+        SEVERITIES.put("ERROR", 200);
+        SEVERITIES.put("WARNING", 300);
+        SEVERITIES.put("WARN", 300);
+        SEVERITIES.put("INFO", 400);
+        SEVERITIES.put("CONFIG", 450);
+        SEVERITIES.put("FINE", 500);
+        SEVERITIES.put("DEBUG", 500);
+        SEVERITIES.put("FINER", 550);
+        SEVERITIES.put("FINEST", 600);
+        SEVERITIES.put("TRACE", 600);
+        SEVERITIES.put("ALL", Integer.MAX_VALUE);
+    }
+
+    private final NavigableMap<Integer, String> targetLevels = new TreeMap<>();
+
+    /**
+     * @param targetLevels The supported levels of the target backend.
+     */
+    LevelMapper(List<String> targetLevels) {
+        for (String level : targetLevels) {
+            Integer severity = SEVERITIES.get(level);
+            if (severity != null) {
+                this.targetLevels.putIfAbsent(severity, level);
+            }
+        }
+    }
+
+    /**
+     * Maps a level to the least verbose target level that enables at least the same events.
+     * <p>
+     *   If no target level is verbose enough, the most verbose target level is returned.
+     * </p>
+     * @param level The name of a level.
+     * @return The mapped target level or {@code null} if the level has no known severity.
+     */
+    @Nullable
+    String map(String level) {
+        Integer severity = SEVERITIES.get(level);
+        if (severity == null || targetLevels.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Integer, String> entry = targetLevels.ceilingEntry(severity);
+        return entry != null ? entry.getValue() : targetLevels.lastEntry().getValue();
+    }
+}
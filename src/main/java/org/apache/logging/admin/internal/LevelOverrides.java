@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.logging.admin.LoggingAdmin;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Temporary level overrides of a logging admin.
+ * <p>
+ *   A single task on the {@link AdminScheduler} is scheduled for the earliest expiration.
+ *   When it runs, it reverts all the overrides that expire within {@link #BATCH_WINDOW_NANOS} using a single call to
+ *   {@link LoggingAdmin#setLevels}.
+ * </p>
+ */
+final class LevelOverrides {
+
+    /**
+     * Overrides that expire within this time window are reverted together.
+     */
+    static final long BATCH_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final LoggingAdmin admin;
+    private final ReentrantLock updateLock;
+    private final Map<String, TimedOverride> overrides = new HashMap<>();
+    private @Nullable ScheduledFuture<?> revertTask;
+    private long revertDeadline;
+
+    /**
+     * @param admin The admin used to modify levels.
+     * @param updateLock The lock held while the admin modifies levels, so that no modification can happen between
+     * reading and setting a level.
+     */
+    LevelOverrides(LoggingAdmin admin, ReentrantLock updateLock) {
+        this.admin = admin;
+        this.updateLock = updateLock;
+    }
+
+    /**
+     * Sets the level of a logger and schedules its revert.
+     *
+     * @param loggerName The name of a logger.
+     * @param level The temporary level.
+     * @param ttlNanos The duration of the override in nanoseconds.
+     */
+    synchronized void put(String loggerName, @Nullable String level, long ttlNanos) {
+        TimedOverride current = overrides.get(loggerName);
+        updateLock.lock();
+        try {
+            // Keeps the level configured before the first override
+            String previousLevel = current != null ? current.previousLevel : admin.getLevel(loggerName);
+            admin.setLevel(loggerName, level);
+            overrides.put(loggerName, new TimedOverride(previousLevel, level, System.nanoTime() + ttlNanos));
+        } finally {
+            updateLock.unlock();
+        }
+        scheduleRevert();
+    }
+
+    /**
+     * Returns the number of pending overrides.
+     */
+    synchronized int size() {
+        return overrides.size();
+    }
+
+    private synchronized void revertExpired() {
+        revertTask = null;
+        updateLock.lock();
+        try {
+            long limit = System.nanoTime() + BATCH_WINDOW_NANOS;
+            Map<String, @Nullable String> levels = new HashMap<>();
+            Iterator<Map.Entry<String, TimedOverride>> iterator =
+                    overrides.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, TimedOverride> entry = iterator.next();
+                TimedOverride override = entry.getValue();
+                if (override.deadline - limit <= 0) {
+                    iterator.remove();
+                    // Levels modified after the override are kept
+                    if (Objects.equals(override.level, admin.getLevel(entry.getKey()))) {
+                        levels.put(entry.getKey(), override.previousLevel);
+                    }
+                }
+            }
+            if (!levels.isEmpty()) {
+                admin.setLevels(levels);
+            }
+        } finally {
+            updateLock.unlock();
+            scheduleRevert();
+        }
+    }
+
+    private void scheduleRevert() {
+        Long deadline = overrides.values().stream()
+                .map(override -> override.deadline)
+                .min((a, b) -> Long.signum(a - b))
+                .orElse(null);
+        if (deadline == null) {
+            return;
+        }
+        if (revertTask != null) {
+            if (revertDeadline - deadline <= 0) {
+                return;
+            }
+            revertTask.cancel(false);
+        }
+        revertDeadline = deadline;
+        revertTask =
+                AdminScheduler.get().schedule(this::revertExpired, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private static final class TimedOverride {
+
+        private final @Nullable String previousLevel;
+        private final @Nullable String level;
+        private final long deadline;
+
+        private TimedOverride(@Nullable String previousLevel, @Nullable String level, long deadline) {
+            this.previousLevel = previousLevel;
+            this.level = level;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The level profiles registered with an admin.
+ * <p>
+ *   Each profile is compiled into the complete batch of modifications needed to activate it: its own levels and a
+ *   {@code null} level for the loggers that only appear in other profiles. Since this batch depends on the other
+ *   profiles, all the profiles are recompiled when a profile is registered.
+ * </p>
+ * <p>
+ *   A batch is applied with a single reconfiguration, but backends that set the level of each logger separately,
+ *   such as Logback and {@code java.util.logging}, expose the intermediate states to concurrent log events.
+ * </p>
+ */
+final class LevelProfiles {
+
+    private final AbstractLoggingAdmin admin;
+    private Map<String, Map<String, @Nullable String>> profiles = new HashMap<>();
+    private Map<String, AbstractLoggingAdmin.CompiledLevels> compiledProfiles = new HashMap<>();
+    private volatile @Nullable String active;
+
+    LevelProfiles(AbstractLoggingAdmin admin) {
+        this.admin = admin;
+    }
+
+    synchronized void register(String profileName, Map<String, @Nullable String> levels) {
+        Map<String, Map<String, @Nullable String>> updatedProfiles = new HashMap<>(profiles);
+        updatedProfiles.put(profileName, new HashMap<>(levels));
+        Map<String, @Nullable String> resets = new HashMap<>();
+        updatedProfiles.values().forEach(profile -> profile.keySet()
+                .forEach(loggerName -> resets.put(loggerName, null)));
+        // Compile everything before modifying the state, so that an invalid profile has no effect
+        Map<String, AbstractLoggingAdmin.CompiledLevels> updatedCompiledProfiles = new HashMap<>();
+        updatedProfiles.forEach((name, profile) -> {
+            Map<String, @Nullable String> batch = new HashMap<>(resets);
+            batch.putAll(profile);
+            updatedCompiledProfiles.put(name, admin.compileLevels(batch));
+        });
+        profiles = updatedProfiles;
+        compiledProfiles = updatedCompiledProfiles;
+    }
+
+    synchronized void activate(String profileName) {
+        AbstractLoggingAdmin.CompiledLevels compiled = compiledProfiles.get(profileName);
+        if (compiled == null) {
+            throw new IllegalArgumentException("Unknown level profile: " + profileName);
+        }
+        admin.applyLevels(compiled);
+        active = profileName;
+    }
+
+    @Nullable
+    String getActive() {
+        return active;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Binary serialization of configured levels.
+ * <p>
+ *   A snapshot contains a header, a table of the distinct levels and the logger names in
+ *   {@linkplain LoggerNames#HIERARCHICAL_ORDER hierarchical order}. Each name is stored as the number of characters it
+ *   shares with the previous name, followed by the remaining characters in UTF-8 and the index of its level.
+ *   All integers are unsigned variable-length integers, so most names only need a few bytes.
+ * </p>
+ */
+public final class LevelSnapshots {
+
+    private static final int MAGIC = 0x4C564C53; // "LVLS"
+    private static final int VERSION = 1;
+    /**
+     * Initial buffer size for strings, so that the memory used grows with the bytes actually read.
+     */
+    private static final int STRING_CHUNK_SIZE = 8192;
+
+    /**
+     * Writes the configured levels to a stream.
+     * <p>
+     *   Loggers that inherit their level are not written. The stream is flushed, but not closed.
+     * </p>
+     *
+     * @param levels A map associating logger names with their configured level.
+     * @param output The destination of the snapshot.
+     */
+    public static void write(Map<String, @Nullable String> levels, OutputStream output) throws IOException {
+        List<String> loggerNames = new ArrayList<>();
+        Map<String, Integer> levelIndexes = new LinkedHashMap<>();
+        levels.forEach((loggerName, level) -> {
+            if (level != null) {
+                loggerNames.add(loggerName);
+                levelIndexes.putIfAbsent(level, levelIndexes.size());
+            }
+        });
+        loggerNames.sort(LoggerNames.HIERARCHICAL_ORDER);
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output));
+        data.writeInt(MAGIC);
+        writeVarInt(data, VERSION);
+        writeVarInt(data, levelIndexes.size());
+        for (String level : levelIndexes.keySet()) {
+            writeString(data, level);
+        }
+        writeVarInt(data, loggerNames.size());
+        String previous = "";
+        for (String loggerName : loggerNames) {
+            int prefix = commonPrefixLength(previous, loggerName);
+            writeVarInt(data, prefix);
+            writeString(data, loggerName.substring(prefix));
+            writeVarInt(data, levelIndexes.get(levels.get(loggerName)));
+            previous = loggerName;
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads the configured levels from a stream.
+     * <p>
+     *   The stream is read through a buffer, so bytes following the snapshot might be consumed.
+     * </p>
+     *
+     * @param input The source of the snapshot.
+     * @return A map associating logger names with their configured level.
+     * @throws IOException If the stream does not contain a valid snapshot.
+     */
+    public static Map<String, @Nullable String> read(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a level snapshot");
+        }
+        int version = readVarInt(data);
+        if (version != VERSION) {
+            throw new IOException("Unsupported level snapshot version: " + version);
+        }
+        // Sizes are never used to pre-allocate memory, since the input might be crafted
+        int levelCount = readVarInt(data);
+        List<String> levels = new ArrayList<>();
+        for (int i = 0; i < levelCount; i++) {
+            levels.add(readString(data));
+        }
+        int count = readVarInt(data);
+        Map<String, @Nullable String> result = new HashMap<>();
+        String previous = "";
+        for (int i = 0; i < count; i++) {
+            int prefix = readVarInt(data);
+            if (prefix > previous.length()) {
+                throw new IOException("Invalid logger name prefix length: " + prefix);
+            }
+            String loggerName = previous.substring(0, prefix) + readString(data);
+            int levelIndex = readVarInt(data);
+            if (levelIndex >= levels.size()) {
+                throw new IOException("Invalid level index: " + levelIndex);
+            }
+            result.put(loggerName, levels.get(levelIndex));
+            previous = loggerName;
+        }
+        return result;
+    }
+
+    private static int commonPrefixLength(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        int i = 0;
+        while (i < length && first.charAt(i) == second.charAt(i)) {
+            i++;
+        }
+        // Do not split surrogate pairs, since the suffix is encoded in UTF-8
+        return i > 0 && Character.isHighSurrogate(second.charAt(i - 1)) ? i - 1 : i;
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(data, bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        int length = readVarInt(data);
+        byte[] bytes = new byte[Math.min(length, STRING_CHUNK_SIZE)];
+        int read = 0;
+        while (read < length) {
+            if (read == bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+            }
+            int n = data.read(bytes, read, bytes.length - read);
+            if (n < 0) {
+                throw new EOFException("Truncated level snapshot");
+            }
+            read += n;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream data, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            data.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        data.writeByte(remaining);
+    }
+
+    private static int readVarInt(DataInputStream data) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Invalid variable-length integer");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Invalid variable-length integer");
+    }
+
+    private LevelSnapshots() {}
+}
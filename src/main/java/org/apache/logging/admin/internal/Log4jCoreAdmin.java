@@ -16,11 +16,20 @@
  */
 package org.apache.logging.admin.internal;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -28,21 +37,67 @@ import java.util.stream.Stream;
 import org.apache.logging.admin.LoggingAdmin;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.LoggerConfig;
-import org.apache.logging.log4j.core.util.NameUtil;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.core.filter.CompositeFilter;
+import org.apache.logging.log4j.core.impl.Log4jContextFactory;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.spi.LoggerContextFactory;
 import org.jspecify.annotations.Nullable;
 
-class Log4jCoreAdmin implements LoggingAdmin {
+class Log4jCoreAdmin extends AbstractLoggingAdmin {
+
+    /**
+     * Determines which loggers are updated after a level change.
+     */
+    enum UpdateMode {
+        /**
+         * Updates all the loggers of the context using {@link LoggerContext#updateLoggers()}.
+         */
+        CONTEXT,
+        /**
+         * Only updates the loggers in the subtrees of the modified logger configurations.
+         * <p>
+         *   No {@link LoggerContext#PROPERTY_CONFIG} event is fired.
+         * </p>
+         */
+        SUBTREE
+    }
+
+    /**
+     * The system property that selects the {@link UpdateMode}: either {@code context} (default) or {@code subtree}.
+     */
+    static final String UPDATE_MODE_PROPERTY = "org.apache.logging.admin.log4j.updateMode";
+
+    /**
+     * The system property that enables the automatic removal of redundant logger configurations after each level
+     * change.
+     *
+     * @see #compactLevels()
+     */
+    static final String AUTO_COMPACT_PROPERTY = "org.apache.logging.admin.log4j.autoCompact";
+
+    // `Logger.updateConfiguration()` is protected
+    private static final @Nullable MethodHandle updateConfiguration = findUpdateConfiguration();
 
     private static final ReentrantLock lock = new ReentrantLock();
     private static final Map<LoggerContext, Object> tokensByLoggerContext = new WeakHashMap<>();
+    private static final Map<LoggerContext, LevelJournal> journalsByLoggerContext = new WeakHashMap<>();
 
     private final LoggerContext loggerContext;
+    private final UpdateMode updateMode;
+    private final boolean autoCompact;
 
-    Log4jCoreAdmin(LoggerContext loggerContext) {
+    Log4jCoreAdmin(LoggerContext loggerContext, LevelJournal journal, UpdateMode updateMode, boolean autoCompact) {
+        super(journal);
         this.loggerContext = loggerContext;
+        this.updateMode = updateMode;
+        this.autoCompact = autoCompact;
     }
 
     @Override
@@ -52,51 +107,216 @@ class Log4jCoreAdmin implements LoggingAdmin {
 
     @Override
     public Map<String, @Nullable String> getLevels() {
-        Map<String, @Nullable String> loggerLevels = new HashMap<>();
+        Configuration config = loggerContext.getConfiguration();
+        Map<String, LoggerConfig> loggerConfigs = config.getLoggers();
+        return getLoggerNames(loggerConfigs, ROOT_LOGGER_NAME)
+                .resolve(loggerName -> getLevel(config, loggerConfigs, loggerName));
+    }
+
+    @Override
+    public Map<String, @Nullable String> getLevels(String loggerName) {
+        Configuration config = loggerContext.getConfiguration();
+        Map<String, LoggerConfig> loggerConfigs = config.getLoggers();
+        return getLoggerNames(loggerConfigs, loggerName)
+                .resolve(loggerName, name -> getLevel(config, loggerConfigs, name));
+    }
+
+    @Override
+    public Stream<Map.Entry<String, @Nullable String>> streamLevels(String loggerName) {
+        Configuration config = loggerContext.getConfiguration();
+        Map<String, LoggerConfig> loggerConfigs = config.getLoggers();
+        return getLoggerNames(loggerConfigs, loggerName).stream(
+                loggerName, name -> getLevel(config, loggerConfigs, name));
+    }
+
+    /**
+     * Builds the hierarchy of the loggers and logger configurations in a subtree.
+     */
+    private LoggerNameTrie getLoggerNames(Map<String, LoggerConfig> loggerConfigs, String loggerName) {
+        LoggerNameTrie loggerNames = new LoggerNameTrie();
         // Insert the ancestors of all existing loggers
-        loggerContext.getLoggers().forEach(logger -> fillLoggerLevels(logger.getName(), loggerLevels));
+        loggerContext.getLoggers().stream()
+                .map(org.apache.logging.log4j.core.Logger::getName)
+                .filter(name -> LoggerNames.isInSubtree(name, loggerName))
+                .forEach(loggerNames::add);
         // Insert the ancestors of all existing logger configurations
-        loggerContext
-                .getConfiguration()
-                .getLoggers()
-                .keySet()
-                .forEach(loggerName -> fillLoggerLevels(loggerName, loggerLevels));
-        return loggerLevels;
+        loggerConfigs.keySet().stream()
+                .filter(name -> LoggerNames.isInSubtree(name, loggerName))
+                .forEach(loggerNames::add);
+        return loggerNames;
     }
 
     @Override
     public @Nullable String getLevel(String loggerName) {
         Configuration config = loggerContext.getConfiguration();
-        return Optional.of(config.getLoggerConfig(loggerName))
-                .filter(lc -> loggerName.equals(lc.getName()))
-                .map(LoggerConfig::getLevel)
+        return getLevel(config, config.getLoggers(), loggerName);
+    }
+
+    /**
+     * Retrieves the configured level of a logger using a single map lookup.
+     */
+    private static @Nullable String getLevel(
+            Configuration config, Map<String, LoggerConfig> loggerConfigs, String loggerName) {
+        LoggerConfig loggerConfig =
+                ROOT_LOGGER_NAME.equals(loggerName) ? config.getRootLogger() : loggerConfigs.get(loggerName);
+        return Optional.ofNullable(loggerConfig)
+                .map(LoggerConfig::getExplicitLevel)
                 .map(Level::name)
                 .orElse(null);
     }
 
     @Override
-    public void setLevel(String loggerName, @Nullable String level) {
-        boolean changed;
-        Configuration config = loggerContext.getConfiguration();
-        Level levelObj = level != null ? Level.valueOf(level) : null;
+    CompiledLevels compileLevels(Map<String, @Nullable String> levels) {
+        Map<String, @Nullable Level> levelObjs = new LinkedHashMap<>();
+        levels.forEach((loggerName, level) -> levelObjs.put(loggerName, level != null ? Level.valueOf(level) : null));
+        return () -> {
+            List<String> modified = new ArrayList<>();
+            Configuration config = loggerContext.getConfiguration();
+            for (Map.Entry<String, @Nullable Level> entry : levelObjs.entrySet()) {
+                if (setLevel(config, entry.getKey(), entry.getValue())) {
+                    modified.add(entry.getKey());
+                }
+            }
+            if (autoCompact) {
+                modified.addAll(removeRedundantConfigs(config, levelObjs.keySet()));
+            }
+            if (!modified.isEmpty()) {
+                updateLoggers(config, modified);
+            }
+        };
+    }
+
+    @Override
+    public int compactLevels() {
+        List<String> removed = new ArrayList<>();
+        applyLevels(() -> {
+            Configuration config = loggerContext.getConfiguration();
+            removed.addAll(removeRedundantConfigs(
+                    config, new ArrayList<>(config.getLoggers().keySet())));
+            if (!removed.isEmpty()) {
+                updateLoggers(config, removed);
+            }
+        });
+        return removed.size();
+    }
+
+    /**
+     * Removes the logger configurations created by this class that do not modify any effective level.
+     * <p>
+     *   Removing such a configuration does not modify the effective level of any other configuration, so all the
+     *   redundant configurations can be determined before removing any of them.
+     * </p>
+     *
+     * @return The names of the removed configurations.
+     */
+    private static List<String> removeRedundantConfigs(Configuration config, Collection<String> loggerNames) {
+        Map<String, LoggerConfig> loggerConfigs = config.getLoggers();
+        List<String> redundant = new ArrayList<>();
+        for (String loggerName : loggerNames) {
+            LoggerConfig loggerConfig = loggerConfigs.get(loggerName);
+            if (loggerConfig instanceof AdminLoggerConfig && isRedundant(loggerConfig)) {
+                redundant.add(loggerName);
+            }
+        }
+        redundant.forEach(config::removeLogger);
+        return redundant;
+    }
+
+    private static boolean isRedundant(LoggerConfig loggerConfig) {
+        if (!loggerConfig.getAppenders().isEmpty() || loggerConfig.hasFilter() || !loggerConfig.isAdditive()) {
+            return false;
+        }
+        Level level = loggerConfig.getExplicitLevel();
+        LoggerConfig parent = loggerConfig.getParent();
+        return level == null || (parent != null && level.equals(parent.getLevel()));
+    }
+
+    /**
+     * Updates the loggers affected by a change to the given logger configurations.
+     */
+    private void updateLoggers(Configuration config, List<String> modified) {
+        MethodHandle updateConfiguration = Log4jCoreAdmin.updateConfiguration;
+        if (updateMode == UpdateMode.CONTEXT || updateConfiguration == null || modified.contains(ROOT_LOGGER_NAME)) {
+            loggerContext.updateLoggers();
+            return;
+        }
+        // The trie finds the descendants of each modified configuration without comparing all the pairs of names
+        Map<String, org.apache.logging.log4j.core.Logger> loggersByName = new HashMap<>();
+        LoggerNameTrie loggerNames = new LoggerNameTrie();
+        for (org.apache.logging.log4j.core.Logger logger : loggerContext.getLoggers()) {
+            loggersByName.put(logger.getName(), logger);
+            loggerNames.add(logger.getName());
+        }
+        Set<String> updated = new HashSet<>();
+        for (String modifiedName : modified) {
+            loggerNames.forEachInSubtree(modifiedName, loggerName -> {
+                org.apache.logging.log4j.core.Logger logger = loggersByName.get(loggerName);
+                if (logger != null && updated.add(loggerName)) {
+                    try {
+                        updateConfiguration.invokeExact(logger, config);
+                    } catch (Throwable e) {
+                        throw new IllegalStateException("Unable to update logger " + loggerName, e);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Modifies the level of a logger configuration, without updating the loggers.
+     *
+     * @return {@code true} if the loggers need to be updated.
+     */
+    private static boolean setLevel(Configuration config, String loggerName, @Nullable Level level) {
         LoggerConfig loggerConfig = config.getLoggerConfig(loggerName);
         if (!loggerName.equals(loggerConfig.getName())) {
-            loggerConfig = new LoggerConfig(loggerName, levelObj, true);
-            config.addLogger(loggerName, loggerConfig);
-            changed = true;
-        } else {
-            changed = Objects.equals(levelObj, loggerConfig.getLevel());
-            loggerConfig.setLevel(levelObj);
-        }
-        if (changed) {
-            loggerContext.updateLoggers();
+            if (level == null) {
+                // The logger already inherits its level
+                return false;
+            }
+            config.addLogger(loggerName, new AdminLoggerConfig(loggerName, level));
+            return true;
         }
+        boolean changed = !Objects.equals(level, loggerConfig.getLevel());
+        loggerConfig.setLevel(level);
+        return changed;
     }
 
-    private void fillLoggerLevels(String loggerName, Map<String, @Nullable String> loggerLevels) {
-        String currentName = loggerName;
-        while (currentName != null && loggerLevels.putIfAbsent(currentName, getLevel(currentName)) == null) {
-            currentName = NameUtil.getSubName(currentName);
+    @Override
+    @Nullable
+    EventCounters findEventCounters() {
+        EventCountingFilter filter = findEventCountingFilter(loggerContext.getConfiguration());
+        return filter != null ? filter.counters : null;
+    }
+
+    private static @Nullable EventCountingFilter findEventCountingFilter(Configuration config) {
+        Filter filter = config.getFilter();
+        Filter[] filters = filter instanceof CompositeFilter
+                ? ((CompositeFilter) filter).getFiltersArray()
+                : new Filter[] {filter};
+        for (Filter current : filters) {
+            if (current instanceof EventCountingFilter) {
+                return (EventCountingFilter) current;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    void installEventCounters(EventCounters counters) {
+        EventCountingFilter filter = new EventCountingFilter(counters);
+        filter.start();
+        // Global filters are checked by each logger before the level
+        loggerContext.getConfiguration().addFilter(filter);
+    }
+
+    @Override
+    void uninstallEventCounters() {
+        Configuration config = loggerContext.getConfiguration();
+        EventCountingFilter filter = findEventCountingFilter(config);
+        if (filter != null) {
+            config.removeFilter(filter);
+            filter.stop();
         }
     }
 
@@ -106,18 +326,107 @@ class Log4jCoreAdmin implements LoggingAdmin {
     }
 
     static LoggingAdmin newInstance(Object token) {
+        return newInstance((LoggerContext) PrivateLogManager.getContext(), token);
+    }
+
+    /**
+     * Creates the admins of all the logger contexts of the context selector.
+     * <p>
+     *   Only the context of the caller and the contexts already bound to the token are included: the other contexts
+     *   are not claimed, so that their owners can still bind them to their own token.
+     * </p>
+     */
+    static Map<String, LoggingAdmin> newInstances(Object token) {
+        List<LoggerContext> loggerContexts = new ArrayList<>();
+        LoggerContextFactory factory = LogManager.getFactory();
+        if (factory instanceof Log4jContextFactory) {
+            loggerContexts.addAll(((Log4jContextFactory) factory).getSelector().getLoggerContexts());
+        }
+        LoggerContext ownContext = (LoggerContext) PrivateLogManager.getContext();
+        if (!loggerContexts.contains(ownContext)) {
+            loggerContexts.add(ownContext);
+        }
+        Map<String, LoggingAdmin> admins = new LinkedHashMap<>();
+        for (LoggerContext loggerContext : loggerContexts) {
+            try {
+                LoggingAdmin admin = loggerContext == ownContext
+                        ? newInstance(loggerContext, token)
+                        : findInstance(loggerContext, token);
+                if (admin != null) {
+                    FactoryUtil.putUnique(admins, loggerContext.getName(), admin);
+                }
+            } catch (SecurityException e) {
+                // Administered by someone else
+            }
+        }
+        return admins;
+    }
+
+    /**
+     * Returns the admin of a logger context, only if the context is already bound to the token.
+     */
+    private static @Nullable LoggingAdmin findInstance(LoggerContext loggerContext, Object token) {
+        lock.lock();
+        try {
+            return tokensByLoggerContext.get(loggerContext) == token ? newInstance(loggerContext, token) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static LoggingAdmin newInstance(LoggerContext loggerContext, Object token) {
+        // Lock-free fast path
+        LoggingAdmin admin = GuardedAdmin.get(loggerContext.getObject(GuardedAdmin.KEY), token);
+        if (admin != null) {
+            return admin;
+        }
         lock.lock();
         try {
-            LoggerContext loggerContext = (LoggerContext) PrivateLogManager.getContext();
             if (tokensByLoggerContext.computeIfAbsent(loggerContext, k -> token) != token) {
                 throw new SecurityException("The security token does not match: " + token);
             }
-            return new Log4jCoreAdmin(loggerContext);
+            admin = GuardedAdmin.get(loggerContext.getObject(GuardedAdmin.KEY), token);
+            if (admin == null) {
+                LevelJournal journal =
+                        journalsByLoggerContext.computeIfAbsent(loggerContext, Log4jCoreAdmin::createJournal);
+                admin = new Log4jCoreAdmin(
+                        loggerContext, journal, getUpdateMode(), Boolean.getBoolean(AUTO_COMPACT_PROPERTY));
+                loggerContext.putObject(GuardedAdmin.KEY, new GuardedAdmin(token, admin));
+            }
+            return admin;
         } finally {
             lock.unlock();
         }
     }
 
+    private static UpdateMode getUpdateMode() {
+        String value = System.getProperty(UPDATE_MODE_PROPERTY, "");
+        return "subtree".equals(value.toLowerCase(Locale.ROOT)) ? UpdateMode.SUBTREE : UpdateMode.CONTEXT;
+    }
+
+    private static @Nullable MethodHandle findUpdateConfiguration() {
+        try {
+            Method method = org.apache.logging.log4j.core.Logger.class.getDeclaredMethod(
+                    "updateConfiguration", Configuration.class);
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Fall back to `LoggerContext.updateLoggers()`
+            return null;
+        }
+    }
+
+    private static LevelJournal createJournal(LoggerContext loggerContext) {
+        LevelJournal journal = new LevelJournal(LevelJournal.Tracking.INVALIDATE);
+        // Fired by both `setConfiguration()` and `updateLoggers()`
+        loggerContext.addPropertyChangeListener(event -> {
+            if (LoggerContext.PROPERTY_CONFIG.equals(event.getPropertyName())) {
+                journal.invalidate();
+            }
+        });
+        return journal;
+    }
+
     private static final class PrivateLogManager extends LogManager {
         private PrivateLogManager() {}
 
@@ -125,4 +434,206 @@ class Log4jCoreAdmin implements LoggingAdmin {
             return LogManager.getContext(LoggingAdmin.class.getName(), false);
         }
     }
+
+    /**
+     * A global filter that counts the enabled log events.
+     * <p>
+     *   All the methods are overridden, since the defaults of {@link AbstractFilter} allocate a parameter array.
+     *   Calls without a message are level checks, such as {@code isDebugEnabled()}, and are not counted.
+     * </p>
+     */
+    private static final class EventCountingFilter extends AbstractFilter {
+
+        private final EventCounters counters;
+
+        private EventCountingFilter(EventCounters counters) {
+            this.counters = counters;
+        }
+
+        private Result count(org.apache.logging.log4j.core.Logger logger, Level level, @Nullable Object message) {
+            if (message != null && level.intLevel() <= logger.getLevel().intLevel()) {
+                counters.increment(logger.getName(), level.name());
+            }
+            return Result.NEUTRAL;
+        }
+
+        @Override
+        public Result filter(LogEvent event) {
+            return Result.NEUTRAL;
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger, Level level, Marker marker, Message msg, Throwable t) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger, Level level, Marker marker, Object msg, Throwable t) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(org.apache.logging.log4j.core.Logger logger, Level level, Marker marker, String msg) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger, Level level, Marker marker, String msg, Object... params) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger, Level level, Marker marker, String msg, Object p0) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger,
+                Level level,
+                Marker marker,
+                String msg,
+                Object p0,
+                Object p1) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger,
+                Level level,
+                Marker marker,
+                String msg,
+                Object p0,
+                Object p1,
+                Object p2) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger,
+                Level level,
+                Marker marker,
+                String msg,
+                Object p0,
+                Object p1,
+                Object p2,
+                Object p3) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger,
+                Level level,
+                Marker marker,
+                String msg,
+                Object p0,
+                Object p1,
+                Object p2,
+                Object p3,
+                Object p4) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger,
+                Level level,
+                Marker marker,
+                String msg,
+                Object p0,
+                Object p1,
+                Object p2,
+                Object p3,
+                Object p4,
+                Object p5) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger,
+                Level level,
+                Marker marker,
+                String msg,
+                Object p0,
+                Object p1,
+                Object p2,
+                Object p3,
+                Object p4,
+                Object p5,
+                Object p6) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger,
+                Level level,
+                Marker marker,
+                String msg,
+                Object p0,
+                Object p1,
+                Object p2,
+                Object p3,
+                Object p4,
+                Object p5,
+                Object p6,
+                Object p7) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger,
+                Level level,
+                Marker marker,
+                String msg,
+                Object p0,
+                Object p1,
+                Object p2,
+                Object p3,
+                Object p4,
+                Object p5,
+                Object p6,
+                Object p7,
+                Object p8) {
+            return count(logger, level, msg);
+        }
+
+        @Override
+        public Result filter(
+                org.apache.logging.log4j.core.Logger logger,
+                Level level,
+                Marker marker,
+                String msg,
+                Object p0,
+                Object p1,
+                Object p2,
+                Object p3,
+                Object p4,
+                Object p5,
+                Object p6,
+                Object p7,
+                Object p8,
+                Object p9) {
+            return count(logger, level, msg);
+        }
+    }
+
+    /**
+     * Marks the logger configurations created by this class, which can be removed by {@link #compactLevels()}.
+     */
+    private static final class AdminLoggerConfig extends LoggerConfig {
+
+        private AdminLoggerConfig(String name, Level level) {
+            super(name, level, true);
+        }
+    }
 }
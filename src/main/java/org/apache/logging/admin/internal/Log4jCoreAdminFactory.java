@@ -17,6 +17,7 @@
 package org.apache.logging.admin.internal;
 
 import aQute.bnd.annotation.spi.ServiceProvider;
+import java.util.Map;
 import org.apache.logging.admin.LoggingAdmin;
 import org.apache.logging.admin.spi.LoggingAdminFactory;
 
@@ -40,4 +41,9 @@ public class Log4jCoreAdminFactory implements LoggingAdminFactory {
     public LoggingAdmin getLoggingAdmin(Object token) {
         return Log4jCoreAdmin.newInstance(token);
     }
+
+    @Override
+    public Map<String, LoggingAdmin> getLoggingAdmins(Object token) {
+        return Log4jCoreAdmin.newInstances(token);
+    }
 }
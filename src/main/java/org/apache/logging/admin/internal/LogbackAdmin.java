@@ -19,8 +19,16 @@ package org.apache.logging.admin.internal;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.selector.ContextSelector;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.classic.util.ContextSelectorStaticBinder;
+import ch.qos.logback.core.spi.FilterReply;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -31,11 +39,15 @@ import java.util.stream.Stream;
 import org.apache.logging.admin.LoggingAdmin;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
 
-class LogbackAdmin implements LoggingAdmin {
+class LogbackAdmin extends AbstractLoggingAdmin {
 
     private static final ReentrantLock lock = new ReentrantLock();
     private static final Map<LoggerContext, Object> tokensByLoggerContext = new WeakHashMap<>();
+    // The listeners are strongly reachable from their logger context, as long as they are registered
+    private static final Map<LoggerContext, WeakReference<JournalListener>> listenersByLoggerContext =
+            new WeakHashMap<>();
 
     private static final List<String> levels = Collections.unmodifiableList(
             Stream.of(Level.OFF, Level.ERROR, Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE)
@@ -44,7 +56,8 @@ class LogbackAdmin implements LoggingAdmin {
 
     private final LoggerContext loggerContext;
 
-    LogbackAdmin(final LoggerContext loggerContext) {
+    LogbackAdmin(final LoggerContext loggerContext, final LevelJournal journal) {
+        super(journal);
         this.loggerContext = loggerContext;
     }
 
@@ -62,9 +75,34 @@ class LogbackAdmin implements LoggingAdmin {
         return loggerLevels;
     }
 
+    @Override
+    public Map<String, @Nullable String> getLevels(String loggerName) {
+        return getLoggerNames(loggerName).resolve(loggerName, this::getLevel);
+    }
+
+    @Override
+    public Stream<Map.Entry<String, @Nullable String>> streamLevels(String loggerName) {
+        return getLoggerNames(loggerName).stream(loggerName, this::getLevel);
+    }
+
+    /**
+     * Builds the hierarchy of the existing loggers in a subtree.
+     */
+    private LoggerNameTrie getLoggerNames(String loggerName) {
+        LoggerNameTrie loggerNames = new LoggerNameTrie();
+        loggerContext.getLoggerList().stream()
+                .map(logger -> rootToEmpty(logger.getName()))
+                .filter(name -> LoggerNames.isInSubtree(name, loggerName))
+                .forEach(loggerNames::add);
+        return loggerNames;
+    }
+
     @Override
     public @Nullable String getLevel(String loggerName) {
-        return getLevel(loggerContext.getLogger(emptyToRoot(loggerName)));
+        // Does not create missing loggers
+        return Optional.ofNullable(loggerContext.exists(emptyToRoot(loggerName)))
+                .map(LogbackAdmin::getLevel)
+                .orElse(null);
     }
 
     private static @Nullable String getLevel(Logger logger) {
@@ -72,15 +110,59 @@ class LogbackAdmin implements LoggingAdmin {
     }
 
     @Override
-    public void setLevel(String loggerName, @Nullable String level) {
-        loggerContext.getLogger(emptyToRoot(loggerName)).setLevel(level != null ? Level.valueOf(level) : null);
+    CompiledLevels compileLevels(Map<String, @Nullable String> levels) {
+        Map<Logger, @Nullable Level> levelObjs = new LinkedHashMap<>();
+        levels.forEach((loggerName, level) ->
+                levelObjs.put(loggerContext.getLogger(emptyToRoot(loggerName)), level != null ? toLevel(level) : null));
+        return () -> levelObjs.forEach(Logger::setLevel);
+    }
+
+    private static Level toLevel(String level) {
+        // `Level.valueOf()` falls back to `DEBUG`
+        Level levelObj = Level.toLevel(level, null);
+        if (levelObj == null) {
+            throw new IllegalArgumentException("Unsupported level: " + level);
+        }
+        return levelObj;
+    }
+
+    @Override
+    @Nullable
+    EventCounters findEventCounters() {
+        EventCountingTurboFilter filter = findEventCountingTurboFilter();
+        return filter != null ? filter.counters : null;
+    }
+
+    private @Nullable EventCountingTurboFilter findEventCountingTurboFilter() {
+        for (TurboFilter filter : loggerContext.getTurboFilterList()) {
+            if (filter instanceof EventCountingTurboFilter) {
+                return (EventCountingTurboFilter) filter;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    void installEventCounters(EventCounters counters) {
+        EventCountingTurboFilter filter = new EventCountingTurboFilter(counters);
+        filter.start();
+        loggerContext.addTurboFilter(filter);
     }
 
-    private String rootToEmpty(String loggerName) {
+    @Override
+    void uninstallEventCounters() {
+        EventCountingTurboFilter filter = findEventCountingTurboFilter();
+        if (filter != null) {
+            loggerContext.getTurboFilterList().remove(filter);
+            filter.stop();
+        }
+    }
+
+    private static String rootToEmpty(String loggerName) {
         return Logger.ROOT_LOGGER_NAME.equals(loggerName) ? "" : loggerName;
     }
 
-    private String emptyToRoot(String loggerName) {
+    private static String emptyToRoot(String loggerName) {
         return loggerName.isEmpty() ? Logger.ROOT_LOGGER_NAME : loggerName;
     }
 
@@ -89,15 +171,165 @@ class LogbackAdmin implements LoggingAdmin {
     }
 
     static LoggingAdmin newInstance(Object token) {
+        return newInstance((LoggerContext) LoggerFactory.getILoggerFactory(), token);
+    }
+
+    /**
+     * Creates the admins of all the logger contexts of the context selector.
+     * <p>
+     *   Only the context of the caller and the contexts already bound to the token are included: the other contexts
+     *   are not claimed, so that their owners can still bind them to their own token.
+     * </p>
+     */
+    static Map<String, LoggingAdmin> newInstances(Object token) {
+        List<LoggerContext> loggerContexts = new ArrayList<>();
+        ContextSelector selector = ContextSelectorStaticBinder.getSingleton().getContextSelector();
+        if (selector != null) {
+            for (String contextName : selector.getContextNames()) {
+                LoggerContext loggerContext = selector.getLoggerContext(contextName);
+                if (loggerContext != null) {
+                    loggerContexts.add(loggerContext);
+                }
+            }
+        }
+        LoggerContext ownContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        if (!loggerContexts.contains(ownContext)) {
+            loggerContexts.add(ownContext);
+        }
+        Map<String, LoggingAdmin> admins = new LinkedHashMap<>();
+        for (LoggerContext loggerContext : loggerContexts) {
+            try {
+                LoggingAdmin admin = loggerContext == ownContext
+                        ? newInstance(loggerContext, token)
+                        : findInstance(loggerContext, token);
+                if (admin != null) {
+                    FactoryUtil.putUnique(admins, loggerContext.getName(), admin);
+                }
+            } catch (SecurityException e) {
+                // Administered by someone else
+            }
+        }
+        return admins;
+    }
+
+    /**
+     * Returns the admin of a logger context, only if the context is already bound to the token.
+     */
+    private static @Nullable LoggingAdmin findInstance(LoggerContext loggerContext, Object token) {
+        lock.lock();
+        try {
+            return tokensByLoggerContext.get(loggerContext) == token ? newInstance(loggerContext, token) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static LoggingAdmin newInstance(LoggerContext loggerContext, Object token) {
+        // Lock-free fast path
+        LoggingAdmin admin = GuardedAdmin.get(loggerContext.getObject(GuardedAdmin.KEY), token);
+        if (admin != null) {
+            return admin;
+        }
         lock.lock();
         try {
-            LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
             if (tokensByLoggerContext.computeIfAbsent(loggerContext, k -> token) != token) {
                 throw new SecurityException("The security token does not match: " + token);
             }
-            return new LogbackAdmin(loggerContext);
+            // The object map is only a cache, since it is cleared when the context is reset
+            admin = GuardedAdmin.get(loggerContext.getObject(GuardedAdmin.KEY), token);
+            if (admin == null) {
+                admin = getListener(loggerContext).admin;
+                loggerContext.putObject(GuardedAdmin.KEY, new GuardedAdmin(token, admin));
+            }
+            return admin;
         } finally {
             lock.unlock();
         }
     }
+
+    /**
+     * Returns the listener of a logger context, which survives resets of the context.
+     * <p>
+     *   A new listener, with a new admin, is only registered if the context was stopped.
+     * </p>
+     */
+    private static JournalListener getListener(LoggerContext loggerContext) {
+        WeakReference<JournalListener> reference = listenersByLoggerContext.get(loggerContext);
+        JournalListener listener = reference != null ? reference.get() : null;
+        if (listener == null || !loggerContext.getCopyOfListenerList().contains(listener)) {
+            LevelJournal journal = new LevelJournal(LevelJournal.Tracking.RECORD);
+            listener = new JournalListener(journal, new LogbackAdmin(loggerContext, journal));
+            loggerContext.addListener(listener);
+            listenersByLoggerContext.put(loggerContext, new WeakReference<>(listener));
+        }
+        return listener;
+    }
+
+    /**
+     * Records the level changes notified by Logback.
+     * <p>
+     *   The listener also holds the admin of the context, so that its state survives resets of the context.
+     * </p>
+     */
+    private static final class JournalListener implements LoggerContextListener {
+
+        private final LevelJournal journal;
+        private final LogbackAdmin admin;
+
+        private JournalListener(LevelJournal journal, LogbackAdmin admin) {
+            this.journal = journal;
+            this.admin = admin;
+        }
+
+        @Override
+        public boolean isResetResistant() {
+            return true;
+        }
+
+        @Override
+        public void onStart(LoggerContext context) {}
+
+        @Override
+        public void onReset(LoggerContext context) {
+            journal.invalidate();
+        }
+
+        @Override
+        public void onStop(LoggerContext context) {}
+
+        @Override
+        public void onLevelChange(Logger logger, @Nullable Level level) {
+            // If the level is reset, Logback passes the effective level inherited from the parent
+            journal.record(rootToEmpty(logger.getName()), getLevel(logger));
+        }
+    }
+
+    /**
+     * A turbo filter that counts the enabled log events.
+     * <p>
+     *   Calls without a message are level checks, such as {@code isDebugEnabled()}, and are not counted.
+     * </p>
+     */
+    private static final class EventCountingTurboFilter extends TurboFilter {
+
+        private final EventCounters counters;
+
+        private EventCountingTurboFilter(EventCounters counters) {
+            this.counters = counters;
+        }
+
+        @Override
+        public FilterReply decide(
+                @Nullable Marker marker,
+                Logger logger,
+                Level level,
+                @Nullable String format,
+                @Nullable Object[] params,
+                @Nullable Throwable t) {
+            if (format != null && level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+                counters.increment(rootToEmpty(logger.getName()), level.toString());
+            }
+            return FilterReply.NEUTRAL;
+        }
+    }
 }
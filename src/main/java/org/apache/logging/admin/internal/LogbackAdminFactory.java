@@ -17,6 +17,7 @@
 package org.apache.logging.admin.internal;
 
 import aQute.bnd.annotation.spi.ServiceProvider;
+import java.util.Map;
 import org.apache.logging.admin.LoggingAdmin;
 import org.apache.logging.admin.spi.LoggingAdminFactory;
 
@@ -40,4 +41,9 @@ public class LogbackAdminFactory implements LoggingAdminFactory {
     public LoggingAdmin getLoggingAdmin(Object token) {
         return LogbackAdmin.newInstance(token);
     }
+
+    @Override
+    public Map<String, LoggingAdmin> getLoggingAdmins(Object token) {
+        return LogbackAdmin.newInstances(token);
+    }
 }
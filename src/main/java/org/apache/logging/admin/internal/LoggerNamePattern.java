@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.logging.admin.LoggingAdmin;
+
+/**
+ * A pattern over the dot-separated segments of logger names.
+ * <p>
+ *   A {@code *} segment matches exactly one segment and a {@code **} segment matches any number of segments,
+ *   including none. Other segments must match literally.
+ * </p>
+ * <p>
+ *   Patterns are matched by walking a {@link LoggerNameTrie}: literal segments are looked up directly and only
+ *   wildcards visit the children of a node. Each pair of node and pattern position is visited at most once, so the
+ *   cost is bounded by the size of the trie times the number of segments of the pattern.
+ * </p>
+ */
+final class LoggerNamePattern {
+
+    private static final String ANY_SEGMENT = "*";
+    private static final String ANY_SEGMENTS = "**";
+
+    private final String[] segments;
+
+    private LoggerNamePattern(String[] segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * @param pattern A logger name pattern.
+     * @return The compiled pattern.
+     * @throws IllegalArgumentException If a wildcard does not span a whole segment.
+     */
+    static LoggerNamePattern compile(String pattern) {
+        String[] segments = pattern.isEmpty() ? new String[0] : pattern.split("\\.", -1);
+        for (String segment : segments) {
+            if (segment.indexOf('*') != -1 && !ANY_SEGMENT.equals(segment) && !ANY_SEGMENTS.equals(segment)) {
+                throw new IllegalArgumentException("Wildcards must span a whole segment: " + pattern);
+            }
+        }
+        return new LoggerNamePattern(segments);
+    }
+
+    /**
+     * Selects the logger names that match the pattern.
+     *
+     * @param loggerNames A collection of logger names.
+     * @return The logger names that match the pattern.
+     */
+    Set<String> match(Collection<String> loggerNames) {
+        LoggerNameTrie trie = new LoggerNameTrie();
+        loggerNames.forEach(trie::add);
+        Set<String> matches = new HashSet<>();
+        match(trie, matches);
+        // The trie also contains the ancestors of the logger names
+        matches.retainAll(loggerNames);
+        return matches;
+    }
+
+    /**
+     * Adds the names of the nodes of a trie that match the pattern to a set.
+     */
+    void match(LoggerNameTrie trie, Set<String> matches) {
+        List<Set<LoggerNameTrie.Node>> visited = new ArrayList<>(segments.length + 1);
+        for (int i = 0; i <= segments.length; i++) {
+            visited.add(new HashSet<>());
+        }
+        visit(trie, trie.getRoot(), 0, visited, matches);
+    }
+
+    private void visit(
+            LoggerNameTrie trie,
+            LoggerNameTrie.Node node,
+            int position,
+            List<Set<LoggerNameTrie.Node>> visited,
+            Set<String> matches) {
+        if (!visited.get(position).add(node)) {
+            return;
+        }
+        if (position == segments.length) {
+            matches.add(node.getName());
+            return;
+        }
+        String segment = segments[position];
+        if (ANY_SEGMENTS.equals(segment)) {
+            visit(trie, node, position + 1, visited, matches);
+            for (LoggerNameTrie.Node child : node.getChildren()) {
+                visit(trie, child, position, visited, matches);
+            }
+        } else if (ANY_SEGMENT.equals(segment)) {
+            for (LoggerNameTrie.Node child : node.getChildren()) {
+                visit(trie, child, position + 1, visited, matches);
+            }
+        } else {
+            String parentName = node.getName();
+            LoggerNameTrie.Node child =
+                    trie.find(LoggingAdmin.ROOT_LOGGER_NAME.equals(parentName) ? segment : parentName + "." + segment);
+            if (child != null) {
+                visit(trie, child, position + 1, visited, matches);
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.apache.logging.admin.LoggingAdmin;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The hierarchy of a set of logger names, split into dot-separated segments.
+ * <p>
+ *   Names are inserted from the leaf upwards and the insertion stops at the first ancestor already present.
+ *   Therefore, each node is created and visited exactly once and building the trie costs
+ *   {@code O(total name segments)}.
+ * </p>
+ */
+final class LoggerNameTrie {
+
+    private final Map<String, Node> nodesByName = new HashMap<>();
+    private final Node root = new Node(LoggingAdmin.ROOT_LOGGER_NAME);
+
+    LoggerNameTrie() {
+        nodesByName.put(root.name, root);
+    }
+
+    /**
+     * Adds a logger name and all its ancestors to the trie.
+     *
+     * @param loggerName The name of a logger.
+     * @return The node associated with the logger name.
+     */
+    Node add(String loggerName) {
+        Node node = nodesByName.get(loggerName);
+        if (node == null) {
+            int idx = loggerName.lastIndexOf('.');
+            Node parent = idx == -1 ? root : add(loggerName.substring(0, idx));
+            node = new Node(loggerName);
+            parent.addChild(node);
+            nodesByName.put(loggerName, node);
+        }
+        return node;
+    }
+
+    /**
+     * Finds the node of a logger name.
+     *
+     * @param loggerName The name of a logger.
+     * @return The node associated with the logger name or {@code null} if the logger is not in the trie.
+     */
+    @Nullable
+    Node find(String loggerName) {
+        return nodesByName.get(loggerName);
+    }
+
+    /**
+     * Returns the node of the root logger.
+     */
+    Node getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the number of logger names in the trie, including the root logger.
+     */
+    int size() {
+        return nodesByName.size();
+    }
+
+    /**
+     * Associates each logger name in the trie with its configured level.
+     *
+     * @param levelResolver A function that returns the configured level of a logger. It is called exactly once for
+     *                      each node.
+     * @return A map associating logger names with their configured level.
+     */
+    Map<String, @Nullable String> resolve(Function<String, @Nullable String> levelResolver) {
+        Map<String, @Nullable String> loggerLevels = new HashMap<>(nodesByName.size() * 4 / 3 + 1);
+        nodesByName.keySet().forEach(loggerName -> loggerLevels.put(loggerName, levelResolver.apply(loggerName)));
+        return loggerLevels;
+    }
+
+    /**
+     * Associates each logger name in a subtree with its configured level.
+     *
+     * @param loggerName The name of the topmost logger of the subtree.
+     * @param levelResolver A function that returns the configured level of a logger. It is called exactly once for
+     *                      each node of the subtree.
+     * @return A map associating logger names with their configured level.
+     */
+    Map<String, @Nullable String> resolve(String loggerName, Function<String, @Nullable String> levelResolver) {
+        Map<String, @Nullable String> loggerLevels = new HashMap<>();
+        forEachInSubtree(loggerName, name -> loggerLevels.put(name, levelResolver.apply(name)));
+        return loggerLevels;
+    }
+
+    /**
+     * Visits each logger name in a subtree exactly once, in no particular order.
+     *
+     * @param loggerName The name of the topmost logger of the subtree.
+     * @param action The action to perform on each logger name.
+     */
+    void forEachInSubtree(String loggerName, Consumer<String> action) {
+        Node node = find(loggerName);
+        if (node != null) {
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(node);
+            while (!stack.isEmpty()) {
+                Node current = stack.pop();
+                action.accept(current.name);
+                if (current.children != null) {
+                    current.children.forEach(stack::push);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lazily lists the logger names in a subtree with their configured level.
+     * <p>
+     *   The entries are sorted in {@linkplain LoggerNames#HIERARCHICAL_ORDER hierarchical order}.
+     *   Levels are only resolved when the corresponding entry is consumed.
+     * </p>
+     *
+     * @param loggerName The name of the topmost logger of the subtree.
+     * @param levelResolver A function that returns the configured level of a logger.
+     * @return A sorted stream of logger names and levels.
+     */
+    Stream<Map.Entry<String, @Nullable String>> stream(
+            String loggerName, Function<String, @Nullable String> levelResolver) {
+        Node node = find(loggerName);
+        if (node == null) {
+            return Stream.empty();
+        }
+        Iterator<Map.Entry<String, @Nullable String>> iterator = new Iterator<Map.Entry<String, @Nullable String>>() {
+            private final Deque<Node> stack = new ArrayDeque<>(Collections.singleton(node));
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public Map.Entry<String, @Nullable String> next() {
+                if (stack.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node current = stack.pop();
+                if (current.children != null) {
+                    // Siblings share the same prefix, so the natural order of their names is hierarchical.
+                    current.children.sort(Comparator.comparing(Node::getName, Comparator.reverseOrder()));
+                    current.children.forEach(stack::push);
+                }
+                return new AbstractMap.SimpleImmutableEntry<>(current.name, levelResolver.apply(current.name));
+            }
+        };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(
+                        iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+                false);
+    }
+
+    static final class Node {
+
+        private final String name;
+        private @Nullable List<Node> children;
+
+        private Node(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        List<Node> getChildren() {
+            return children != null ? children : Collections.emptyList();
+        }
+
+        private void addChild(Node child) {
+            if (children == null) {
+                children = new ArrayList<>();
+            }
+            children.add(child);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.util.Comparator;
+import org.apache.logging.admin.LoggingAdmin;
+
+/**
+ * Utility methods for hierarchical logger names.
+ */
+public final class LoggerNames {
+
+    /**
+     * Orders logger names hierarchically: each logger precedes its descendants and siblings are sorted by name.
+     * <p>
+     *   This is equivalent to comparing the dot-separated segments of the names lexicographically.
+     * </p>
+     */
+    public static final Comparator<String> HIERARCHICAL_ORDER = LoggerNames::compare;
+
+    /**
+     * Checks if a logger belongs to the subtree of another logger.
+     *
+     * @param loggerName The name of the logger to check.
+     * @param ancestorName The name of the topmost logger of the subtree.
+     * @return {@code true} if {@code loggerName} is equal to {@code ancestorName} or one of its descendants.
+     */
+    public static boolean isInSubtree(String loggerName, String ancestorName) {
+        if (LoggingAdmin.ROOT_LOGGER_NAME.equals(ancestorName)) {
+            return true;
+        }
+        int length = ancestorName.length();
+        return loggerName.startsWith(ancestorName)
+                && (loggerName.length() == length || loggerName.charAt(length) == '.');
+    }
+
+    private static int compare(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        for (int i = 0; i < length; i++) {
+            char c1 = first.charAt(i);
+            char c2 = second.charAt(i);
+            if (c1 != c2) {
+                // The segment separator sorts before any other character
+                return c1 == '.' ? -1 : c2 == '.' ? 1 : Character.compare(c1, c2);
+            }
+        }
+        return Integer.compare(first.length(), second.length());
+    }
+
+    private LoggerNames() {}
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.logging.admin.spi;
 
+import java.util.Collections;
+import java.util.Map;
 import org.apache.logging.admin.LoggingAdmin;
 
 /**
@@ -26,6 +28,11 @@ import org.apache.logging.admin.LoggingAdmin;
  */
 public interface LoggingAdminFactory {
 
+    /**
+     * The name used by logging systems without named logger contexts.
+     */
+    String DEFAULT_CONTEXT_NAME = "default";
+
     /**
      * Provides the order in which this factory should be evaluated.
      * <p>
@@ -52,4 +59,21 @@ public interface LoggingAdminFactory {
      * @return An instance of {@link LoggingAdmin}.
      */
     LoggingAdmin getLoggingAdmin(Object token) throws SecurityException;
+
+    /**
+     * Creates the {@link LoggingAdmin} instances of all the logger contexts of the logging system.
+     * <p>
+     *   Logger contexts associated with a different token are skipped.
+     *   The default implementation only returns the admin of {@link #getLoggingAdmin(Object)}.
+     * </p>
+     * @param token Any Java object.
+     * @return A map associating the name of each logger context with its admin.
+     */
+    default Map<String, LoggingAdmin> getLoggingAdmins(Object token) {
+        try {
+            return Collections.singletonMap(DEFAULT_CONTEXT_NAME, getLoggingAdmin(token));
+        } catch (SecurityException e) {
+            return Collections.emptyMap();
+        }
+    }
 }
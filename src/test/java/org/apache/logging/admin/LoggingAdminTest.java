@@ -20,14 +20,31 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.logging.Logger;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -51,7 +68,6 @@ class LoggingAdminTest {
 
     private static final Object TOKEN = new Object();
     private static LoggingAdmin admin;
-
     // Log4j Core is the default in the IDE
     private static final String type = System.getProperty("admin.implementation", "log4j-core");
 
@@ -62,8 +78,6 @@ class LoggingAdminTest {
     @BeforeAll
     static void setup() {
         admin = LoggingAdmin.getInstance(TOKEN);
-        // JUL creates loggers lazily, so we force the creation of `foo.bar`
-        Logger.getLogger("foo.bar");
     }
 
     @Test
@@ -95,11 +109,269 @@ class LoggingAdminTest {
                         entry("foo.bar", debugLevel()));
     }
 
+    @Test
+    void should_return_correct_subtree_levels() {
+        assertThat(admin.getLevels("foo")).containsOnly(entry("foo", null), entry("foo.bar", debugLevel()));
+        assertThat(admin.streamLevels("foo")).containsExactly(entry("foo", null), entry("foo.bar", debugLevel()));
+        assertThat(admin.getLevels("foo.ba")).isEmpty();
+    }
+
+    @Test
+    void should_return_effective_levels() {
+        assertThat(admin.getEffectiveLevel("foo")).isEqualTo("INFO");
+        assertThat(admin.getEffectiveLevel("foo.bar.baz")).isEqualTo(debugLevel());
+        assertThat(admin.isEnabled("foo", "INFO")).isTrue();
+        assertThat(admin.isEnabled("foo", debugLevel())).isFalse();
+        assertThat(admin.isEnabled("foo.bar.baz", debugLevel())).isTrue();
+        assertThrows(IllegalArgumentException.class, () -> admin.isEnabled("foo", "UNKNOWN"));
+
+        admin.setLevel("effective.a", debugLevel());
+        assertThat(admin.isEnabled("effective.a.b", debugLevel())).isTrue();
+        admin.setLevel("effective.a", "INFO");
+        assertThat(admin.isEnabled("effective.a.b", debugLevel())).isFalse();
+    }
+
+    @Test
+    void should_set_multiple_levels() {
+        Map<String, @Nullable String> levels = new HashMap<>();
+        levels.put("batch.a", debugLevel());
+        levels.put("batch.b", "INFO");
+        admin.setLevels(levels);
+        assertThat(admin.getLevel("batch.a")).isEqualTo(debugLevel());
+        assertThat(admin.getLevel("batch.b")).isEqualTo("INFO");
+        assertThat(admin.getLevels()).contains(entry("batch.a", debugLevel()), entry("batch.b", "INFO"));
+    }
+
+    @Test
+    void should_compare_and_set_level() {
+        admin.setLevel("cas.a", "INFO");
+        assertThat(admin.compareAndSetLevel("cas.a", debugLevel(), "INFO")).isFalse();
+        assertThat(admin.compareAndSetLevel("cas.a", "INFO", debugLevel())).isTrue();
+        assertThat(admin.getLevel("cas.a")).isEqualTo(debugLevel());
+        assertThat(admin.compareAndSetLevel("cas.b", null, "INFO")).isTrue();
+        assertThat(admin.compareAndSetLevel("cas.b", null, debugLevel())).isFalse();
+        assertThrows(IllegalArgumentException.class, () -> admin.compareAndSetLevel("cas.b", "INFO", "NOT_A_LEVEL"));
+        assertThat(admin.getLevel("cas.b")).isEqualTo("INFO");
+    }
+
+    @Test
+    void should_not_lose_concurrent_compare_and_set() throws Exception {
+        admin.setLevel("cas.concurrent", "INFO");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    // Each thread flips the level 25 times
+                    for (int flips = 0; flips < 25; ) {
+                        String current = admin.getLevel("cas.concurrent");
+                        String next = "INFO".equals(current) ? debugLevel() : "INFO";
+                        if (admin.compareAndSetLevel("cas.concurrent", current, next)) {
+                            flips++;
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(admin.getLevel("cas.concurrent")).isEqualTo("INFO");
+    }
+
+    @Test
+    void should_set_levels_if_version_unchanged() {
+        long version = admin.getLevelsVersion();
+        Map<String, @Nullable String> levels = new HashMap<>();
+        levels.put("cas.version.a", debugLevel());
+        levels.put("cas.version.b", "INFO");
+        assertThat(admin.setLevelsIfVersion(version, levels)).isTrue();
+        assertThat(admin.getLevel("cas.version.a")).isEqualTo(debugLevel());
+
+        assertThat(admin.setLevelsIfVersion(version, Collections.singletonMap("cas.version.a", "INFO")))
+                .isFalse();
+        assertThat(admin.getLevel("cas.version.a")).isEqualTo(debugLevel());
+        assertThat(admin.setLevelsIfVersion(
+                        admin.getLevelsVersion(), Collections.singletonMap("cas.version.a", "INFO")))
+                .isTrue();
+        assertThat(admin.getLevel("cas.version.a")).isEqualTo("INFO");
+    }
+
+    @Test
+    void should_return_level_changes_since_version() {
+        long version = admin.getLevelsVersion();
+        assertThat(admin.getLevelChangesSince(version).getLevels()).isEmpty();
+        assertThat(admin.getLevelChangesSince(0).getLevels()).contains(entry("foo.bar", debugLevel()));
+
+        admin.setLevel("versions.a", debugLevel());
+        LevelChanges changes = admin.getLevelChangesSince(version);
+        assertThat(changes.getVersion()).isGreaterThan(version);
+        assertThat(changes.getLevels()).containsExactly(entry("versions.a", debugLevel()));
+        assertThat(admin.getLevelChangesSince(changes.getVersion()).getLevels()).isEmpty();
+    }
+
+    @Test
+    void should_notify_level_changes() throws InterruptedException {
+        BlockingQueue<LevelChanges> notifications = new LinkedBlockingQueue<>();
+        Consumer<LevelChanges> listener = notifications::add;
+        admin.addLevelChangeListener(listener);
+        try {
+            admin.setLevel("listeners.a", debugLevel());
+            LevelChanges changes = notifications.poll(10, TimeUnit.SECONDS);
+            assertThat(changes).isNotNull();
+            assertThat(changes.getLevels()).containsExactly(entry("listeners.a", debugLevel()));
+        } finally {
+            admin.removeLevelChangeListener(listener);
+        }
+    }
+
+    @Test
+    void should_notify_reset_levels() throws InterruptedException {
+        admin.setLevel("listeners.reset", debugLevel());
+        BlockingQueue<LevelChanges> notifications = new LinkedBlockingQueue<>();
+        Consumer<LevelChanges> listener = notifications::add;
+        admin.addLevelChangeListener(listener);
+        try {
+            admin.setLevel("listeners.reset", null);
+            LevelChanges changes;
+            do {
+                changes = notifications.poll(10, TimeUnit.SECONDS);
+                assertThat(changes).isNotNull();
+            } while (!changes.getLevels().containsKey("listeners.reset"));
+            assertThat(changes.getLevels()).containsEntry("listeners.reset", null);
+        } finally {
+            admin.removeLevelChangeListener(listener);
+        }
+    }
+
+    @Test
+    void should_revert_level_after_ttl() throws InterruptedException {
+        admin.setLevel("ttl.a", "INFO");
+        admin.setLevel("ttl.a", debugLevel(), Duration.ofMillis(100));
+        assertThat(admin.getLevel("ttl.a")).isEqualTo(debugLevel());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!"INFO".equals(admin.getLevel("ttl.a")) && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        assertThat(admin.getLevel("ttl.a")).isEqualTo("INFO");
+        assertThrows(IllegalArgumentException.class, () -> admin.setLevel("ttl.a", "INFO", Duration.ZERO));
+    }
+
+    @Test
+    void should_set_levels_matching_pattern() {
+        Map<String, @Nullable String> levels = new HashMap<>();
+        levels.put("pattern.a.dao", "INFO");
+        levels.put("pattern.b.dao", "INFO");
+        levels.put("pattern.b.dao.jdbc", "INFO");
+        admin.setLevels(levels);
+        assertThat(admin.setLevelsMatching("pattern.*.dao", debugLevel()))
+                .containsExactlyInAnyOrder("pattern.a.dao", "pattern.b.dao");
+        assertThat(admin.getLevel("pattern.b.dao")).isEqualTo(debugLevel());
+        assertThat(admin.getLevel("pattern.b.dao.jdbc")).isEqualTo("INFO");
+    }
+
+    @Test
+    void should_switch_level_profiles() {
+        Map<String, @Nullable String> baseline = new HashMap<>();
+        baseline.put("profile.a", "INFO");
+        Map<String, @Nullable String> incident = new HashMap<>();
+        incident.put("profile.a", debugLevel());
+        incident.put("profile.b", debugLevel());
+        admin.registerLevelProfile("baseline", baseline);
+        admin.registerLevelProfile("incident", incident);
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> admin.registerLevelProfile("invalid", Collections.singletonMap("profile.a", "NOT_A_LEVEL")));
+
+        admin.activateLevelProfile("incident");
+        assertThat(admin.getActiveLevelProfile()).isEqualTo("incident");
+        assertThat(admin.getLevel("profile.a")).isEqualTo(debugLevel());
+        assertThat(admin.getLevel("profile.b")).isEqualTo(debugLevel());
+
+        admin.activateLevelProfile("baseline");
+        assertThat(admin.getActiveLevelProfile()).isEqualTo("baseline");
+        assertThat(admin.getLevel("profile.a")).isEqualTo("INFO");
+        assertThat(admin.getLevel("profile.b")).isNull();
+        assertThrows(IllegalArgumentException.class, () -> admin.activateLevelProfile("invalid"));
+    }
+
+    @Test
+    void should_restore_exported_levels() throws IOException {
+        admin.setLevel("snapshot.a", debugLevel());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        admin.exportLevels(output);
+        admin.setLevel("snapshot.a", "INFO");
+
+        admin.importLevels(new ByteArrayInputStream(output.toByteArray()));
+        assertThat(admin.getLevel("snapshot.a")).isEqualTo(debugLevel());
+    }
+
+    @Test
+    void should_set_levels_asynchronously() throws Exception {
+        CompletableFuture<Void> first = admin.setLevelAsync("async.a", debugLevel());
+        CompletableFuture<Void> second = admin.setLevelAsync("async.b", "INFO");
+        CompletableFuture<Void> invalid = admin.setLevelAsync("async.c", "NOT_A_LEVEL");
+        CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+        assertThat(admin.getLevel("async.a")).isEqualTo(debugLevel());
+        assertThat(admin.getLevel("async.b")).isEqualTo("INFO");
+        ExecutionException e = assertThrows(ExecutionException.class, () -> invalid.get(10, TimeUnit.SECONDS));
+        assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_administer_all_logger_contexts() throws Exception {
+        MultiContextAdmin multiAdmin = MultiContextAdmin.getInstance(TOKEN);
+        assertThat(multiAdmin.getAdmins()).containsValue(admin);
+
+        Map<String, CompletableFuture<Void>> results =
+                multiAdmin.setLevels(Collections.singletonMap("multi.a", debugLevel()));
+        assertThat(results).containsOnlyKeys(multiAdmin.getAdmins().keySet());
+        CompletableFuture.allOf(results.values().toArray(new CompletableFuture<?>[0]))
+                .get(10, TimeUnit.SECONDS);
+        assertThat(admin.getLevel("multi.a")).isEqualTo(debugLevel());
+
+        Map<String, CompletableFuture<@Nullable String>> levels =
+                multiAdmin.apply(contextAdmin -> contextAdmin.getLevel("multi.a"));
+        for (CompletableFuture<@Nullable String> level : levels.values()) {
+            assertThat(level.get(10, TimeUnit.SECONDS)).isEqualTo(debugLevel());
+        }
+        assertThat(MultiContextAdmin.getInstance(new Object()).getAdmins()).doesNotContainValue(admin);
+    }
+
+    @Test
+    void should_expose_mxbean() throws Exception {
+        ObjectName objectName = admin.registerMXBean("test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            LoggingAdminMXBean bean = JMX.newMXBeanProxy(server, objectName, LoggingAdminMXBean.class);
+            assertThat(bean.getSupportedLevels()).isEqualTo(admin.getSupportedLevels());
+
+            bean.setLevels(new String[] {"jmx.a", "jmx.a.b"}, new String[] {"INFO", debugLevel()});
+            assertThat(admin.getLevel("jmx.a.b")).isEqualTo(debugLevel());
+            assertThat(bean.getLevels("jmx.a")).contains(entry("jmx.a", "INFO"), entry("jmx.a.b", debugLevel()));
+
+            byte[] snapshot = bean.exportLevels();
+            bean.setLevel("jmx.a", debugLevel());
+            bean.importLevels(snapshot);
+            assertThat(bean.getLevel("jmx.a")).isEqualTo("INFO");
+        } finally {
+            server.unregisterMBean(objectName);
+        }
+    }
+
     @Test
     void should_return_admin_if_token_correct() {
         assertDoesNotThrow(() -> LoggingAdmin.getInstance(TOKEN));
     }
 
+    @Test
+    void should_return_cached_admin() {
+        assertThat(LoggingAdmin.getInstance(TOKEN)).isSameAs(LoggingAdmin.getInstance(TOKEN));
+        assertThrows(SecurityException.class, () -> LoggingAdmin.getInstance(new Object()));
+    }
+
     @Test
     void should_throw_if_token_incorrect() {
         assertThrows(SecurityException.class, () -> LoggingAdmin.getInstance(new Object()));
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.logging.admin.LoggingAdmin;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LevelHttpServerTest {
+
+    private final VersionedAdmin admin = new VersionedAdmin();
+    private @Nullable LevelHttpServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = LevelHttpServer.start(admin, 0);
+    }
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private HttpURLConnection open(String pathAndQuery) throws IOException {
+        LevelHttpServer server = this.server;
+        assertThat(server).isNotNull();
+        URL url = new URL("http", "localhost", server.getAddress().getPort(), pathAndQuery);
+        return (HttpURLConnection) url.openConnection();
+    }
+
+    private static String read(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int count;
+        while ((count = input.read(buffer)) != -1) {
+            output.write(buffer, 0, count);
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void should_bind_to_loopback() {
+        assertThat(server).isNotNull();
+        assertThat(server.getAddress().getAddress().isLoopbackAddress()).isTrue();
+    }
+
+    @Test
+    void should_apply_batch_and_stream_subtree() throws IOException {
+        HttpURLConnection post = open(LevelHttpServer.LEVELS_PATH);
+        post.setRequestMethod("POST");
+        post.setDoOutput(true);
+        try (OutputStream output = post.getOutputStream()) {
+            output.write("foo\tINFO\nfoo.bar\tDEBUG\nbaz\tWARN\nfoo.baz\t\n".getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(post.getResponseCode()).isEqualTo(204);
+        assertThat(admin.batches).isEqualTo(1);
+
+        HttpURLConnection get = open(LevelHttpServer.LEVELS_PATH + "?logger=foo");
+        assertThat(get.getResponseCode()).isEqualTo(200);
+        try (InputStream input = get.getInputStream()) {
+            assertThat(read(input)).isEqualTo("foo\tINFO\nfoo.bar\tDEBUG\nfoo.baz\t\n");
+        }
+    }
+
+    @Test
+    void should_reject_invalid_batch() throws IOException {
+        HttpURLConnection post = open(LevelHttpServer.LEVELS_PATH);
+        post.setRequestMethod("POST");
+        post.setDoOutput(true);
+        try (OutputStream output = post.getOutputStream()) {
+            output.write("foo\tNOT_A_LEVEL\n".getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(post.getResponseCode()).isEqualTo(400);
+        assertThat(admin.batches).isZero();
+    }
+
+    @Test
+    void should_support_conditional_requests() throws IOException {
+        admin.setLevel("foo", "INFO");
+        HttpURLConnection first = open(LevelHttpServer.LEVELS_PATH);
+        assertThat(first.getResponseCode()).isEqualTo(200);
+        String etag = first.getHeaderField("ETag");
+        assertThat(etag).isNotNull();
+        read(first.getInputStream());
+
+        HttpURLConnection unchanged = open(LevelHttpServer.LEVELS_PATH);
+        unchanged.setRequestProperty("If-None-Match", etag);
+        assertThat(unchanged.getResponseCode()).isEqualTo(304);
+
+        admin.setLevel("foo", "DEBUG");
+        HttpURLConnection changed = open(LevelHttpServer.LEVELS_PATH);
+        changed.setRequestProperty("If-None-Match", etag);
+        assertThat(changed.getResponseCode()).isEqualTo(200);
+        assertThat(changed.getHeaderField("ETag")).isNotEqualTo(etag);
+    }
+
+    @Test
+    void should_reject_requests_from_web_pages() throws IOException {
+        String body = "\tOFF\n";
+        assertThat(send("localhost", "Origin: http://attacker.example\r\n", body))
+                .contains(" 403 ");
+        // DNS rebinding
+        assertThat(send("attacker.example", "", body)).contains(" 403 ");
+        assertThat(admin.batches).isZero();
+
+        assertThat(send("127.0.0.1", "", body)).contains(" 204 ");
+        assertThat(admin.batches).isEqualTo(1);
+    }
+
+    @Test
+    void should_recognize_loopback_hosts() {
+        assertThat(LevelHttpServer.isLoopbackHost("localhost:8080")).isTrue();
+        assertThat(LevelHttpServer.isLoopbackHost("127.0.0.2")).isTrue();
+        assertThat(LevelHttpServer.isLoopbackHost("[::1]:8080")).isTrue();
+        assertThat(LevelHttpServer.isLoopbackHost("localhost.attacker.example")).isFalse();
+        assertThat(LevelHttpServer.isLoopbackHost("10.0.0.1")).isFalse();
+        assertThat(LevelHttpServer.isLoopbackHost("")).isFalse();
+    }
+
+    /**
+     * Sends a raw POST request, since {@link HttpURLConnection} does not allow setting the {@code Host} and
+     * {@code Origin} headers.
+     *
+     * @return The status line of the response.
+     */
+    private @Nullable String send(String host, String headers, String body) throws IOException {
+        LevelHttpServer server = this.server;
+        assertThat(server).isNotNull();
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        String request = "POST " + LevelHttpServer.LEVELS_PATH + " HTTP/1.1\r\n"
+                + "Host: " + host + ":" + server.getAddress().getPort() + "\r\n"
+                + headers
+                + "Content-Length: " + content.length + "\r\n"
+                + "Connection: close\r\n\r\n";
+        try (Socket socket =
+                new Socket(server.getAddress().getAddress(), server.getAddress().getPort())) {
+            OutputStream output = socket.getOutputStream();
+            output.write(request.getBytes(StandardCharsets.US_ASCII));
+            output.write(content);
+            output.flush();
+            return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII))
+                    .readLine();
+        }
+    }
+
+    /**
+     * A logging admin backed by a sorted map, whose version increases with each modification.
+     */
+    private static final class VersionedAdmin implements LoggingAdmin {
+
+        private static final List<String> LEVELS = Arrays.asList("OFF", "ERROR", "WARN", "INFO", "DEBUG");
+
+        private final Map<String, @Nullable String> levels = new TreeMap<>();
+        private long version;
+        private int batches;
+
+        @Override
+        public List<String> getSupportedLevels() {
+            return LEVELS;
+        }
+
+        @Override
+        public synchronized Map<String, @Nullable String> getLevels() {
+            return new TreeMap<>(levels);
+        }
+
+        @Override
+        public synchronized @Nullable String getLevel(String loggerName) {
+            return levels.get(loggerName);
+        }
+
+        @Override
+        public void setLevel(String loggerName, @Nullable String level) {
+            setLevels(Collections.singletonMap(loggerName, level));
+        }
+
+        @Override
+        public synchronized void setLevels(Map<String, @Nullable String> levels) {
+            for (String level : levels.values()) {
+                if (level != null && !LEVELS.contains(level)) {
+                    throw new IllegalArgumentException("Unsupported level: " + level);
+                }
+            }
+            this.levels.putAll(levels);
+            version++;
+            batches++;
+        }
+
+        @Override
+        public synchronized long getLevelsVersion() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.logging.admin.LoggingAdmin;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+class CompositeLoggingAdminTest {
+
+    private static final String[] LOG4J_LEVELS = {"OFF", "FATAL", "ERROR", "WARN", "INFO", "DEBUG", "TRACE", "ALL"};
+    private static final String[] JUL_LEVELS = {
+        "OFF", "SEVERE", "WARNING", "INFO", "CONFIG", "FINE", "FINER", "FINEST", "ALL"
+    };
+    private static final String[] LOGBACK_LEVELS = {"OFF", "ERROR", "WARN", "INFO", "DEBUG", "TRACE"};
+
+    @Test
+    void should_map_levels_by_severity() {
+        LevelMapper toJul = new LevelMapper(Arrays.asList(JUL_LEVELS));
+        assertThat(toJul.map("DEBUG")).isEqualTo("FINE");
+        assertThat(toJul.map("FATAL")).isEqualTo("SEVERE");
+        assertThat(toJul.map("TRACE")).isEqualTo("FINEST");
+        assertThat(toJul.map("CUSTOM")).isNull();
+
+        LevelMapper toLogback = new LevelMapper(Arrays.asList(LOGBACK_LEVELS));
+        // Enables at least the same events
+        assertThat(toLogback.map("CONFIG")).isEqualTo("DEBUG");
+        assertThat(toLogback.map("FINER")).isEqualTo("TRACE");
+        assertThat(toLogback.map("ALL")).isEqualTo("TRACE");
+        assertThat(toLogback.map("OFF")).isEqualTo("OFF");
+    }
+
+    @Test
+    void should_apply_mapped_levels_to_secondary_admins() {
+        MapAdmin primary = new MapAdmin(LOG4J_LEVELS);
+        MapAdmin secondary = new MapAdmin(JUL_LEVELS);
+        CompositeLoggingAdmin admin = new CompositeLoggingAdmin(primary, Collections.singletonList(secondary));
+
+        Map<String, @Nullable String> levels = new HashMap<>();
+        levels.put("foo", "DEBUG");
+        levels.put("bar", null);
+        levels.put("baz", "CUSTOM");
+        admin.setLevels(levels);
+        assertThat(primary.levels).containsOnly(entry("foo", "DEBUG"), entry("bar", null), entry("baz", "CUSTOM"));
+        assertThat(secondary.batches).containsExactly(mapOf("foo", "FINE", "bar", null));
+
+        admin.setLevel("", "WARN");
+        assertThat(admin.getLevel("")).isEqualTo("WARN");
+        assertThat(secondary.getLevel("")).isEqualTo("WARNING");
+    }
+
+    @Test
+    void should_count_events_of_primary_admin() {
+        JulAdmin primary = new JulAdmin(Logger.getLogger(""), new LevelJournal(LevelJournal.Tracking.NONE));
+        CompositeLoggingAdmin admin =
+                new CompositeLoggingAdmin(primary, Collections.singletonList(new MapAdmin(LOG4J_LEVELS)));
+        Logger logger = Logger.getLogger("composite.counting");
+        logger.setLevel(Level.INFO);
+        admin.setEventCounting(true);
+        try {
+            logger.info("Hello");
+            assertThat(admin.getTopEventCounts(10))
+                    .filteredOn(count -> count.getLoggerName().equals("composite.counting"))
+                    .singleElement()
+                    .satisfies(count -> assertThat(count.getCount()).isEqualTo(1));
+        } finally {
+            admin.setEventCounting(false);
+        }
+        assertThat(admin.getTopEventCounts(10)).isEmpty();
+    }
+
+    @Test
+    void should_cache_composite_admin_with_primary_admin() {
+        JulAdmin primary = new JulAdmin(Logger.getLogger(""), new LevelJournal(LevelJournal.Tracking.NONE));
+        Supplier<LoggingAdmin> factory =
+                () -> new CompositeLoggingAdmin(primary, Collections.singletonList(new MapAdmin(LOG4J_LEVELS)));
+        assertThat(primary.getCompositeAdmin(factory)).isSameAs(primary.getCompositeAdmin(factory));
+    }
+
+    private static Map<String, @Nullable String> mapOf(String k1, @Nullable String v1, String k2, @Nullable String v2) {
+        Map<String, @Nullable String> map = new HashMap<>();
+        map.put(k1, v1);
+        map.put(k2, v2);
+        return map;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.logging.admin.LoggingAdmin;
+import org.apache.logging.admin.spi.LoggingAdminFactory;
+import org.junit.jupiter.api.Test;
+
+class FactoryUtilTest {
+
+    @Test
+    void stopsAtFirstActiveFactory() {
+        FakeFactory inactive = new FakeFactory(false);
+        FakeFactory active = new FakeFactory(true);
+        FakeFactory fallback = new FakeFactory(true);
+        List<LoggingAdminFactory> factories = Arrays.asList(inactive, active, fallback);
+
+        assertThat(FactoryUtil.selectFactory(factories, null)).isSameAs(active);
+        assertThat(inactive.probes).isEqualTo(1);
+        assertThat(active.probes).isEqualTo(1);
+        assertThat(fallback.probes).isZero();
+    }
+
+    @Test
+    void probesOnlyPinnedFactory() {
+        FakeFactory first = new FakeFactory(true);
+        PinnedFactory pinned = new PinnedFactory(true);
+        List<LoggingAdminFactory> factories = Arrays.asList(first, pinned);
+
+        assertThat(FactoryUtil.selectFactory(factories, PinnedFactory.class.getName()))
+                .isSameAs(pinned);
+        assertThat(first.probes).isZero();
+        assertThat(pinned.probes).isEqualTo(1);
+    }
+
+    @Test
+    void resolvesAliases() {
+        JulAdminFactory jul = new JulAdminFactory();
+        List<LoggingAdminFactory> factories = Arrays.asList(new FakeFactory(true), jul);
+
+        assertThat(FactoryUtil.selectFactory(factories, "JUL")).isSameAs(jul);
+    }
+
+    @Test
+    void failsIfPinnedFactoryIsUnavailable() {
+        List<LoggingAdminFactory> factories = Arrays.asList(new FakeFactory(true), new PinnedFactory(false));
+
+        assertThatThrownBy(() -> FactoryUtil.selectFactory(factories, PinnedFactory.class.getName()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not active");
+        assertThatThrownBy(() -> FactoryUtil.selectFactory(factories, "logback"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not found");
+        assertThatThrownBy(() -> FactoryUtil.selectFactory(Collections.emptyList(), null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static class FakeFactory implements LoggingAdminFactory {
+
+        private final boolean active;
+        int probes;
+
+        FakeFactory(boolean active) {
+            this.active = active;
+        }
+
+        @Override
+        public boolean isActive() {
+            probes++;
+            return active;
+        }
+
+        @Override
+        public LoggingAdmin getLoggingAdmin(Object token) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class PinnedFactory extends FakeFactory {
+
+        PinnedFactory(boolean active) {
+            super(active);
+        }
+    }
+}
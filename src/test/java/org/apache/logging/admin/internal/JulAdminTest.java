@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+class JulAdminTest {
+
+    @Test
+    void should_apply_pending_level_when_logger_is_created() {
+        JulAdmin admin = new JulAdmin(Logger.getLogger(""), new LevelJournal(LevelJournal.Tracking.NONE));
+        LogManager logManager = LogManager.getLogManager();
+
+        admin.setLevel("pending.a", "FINE");
+        assertThat(logManager.getLogger("pending.a")).isNull();
+        assertThat(admin.getLevel("pending.a")).isEqualTo("FINE");
+        assertThat(admin.getLevels("pending")).containsOnly(entry("pending", null), entry("pending.a", "FINE"));
+        assertThat(admin.getEffectiveLevel("pending.a.b")).isEqualTo("FINE");
+
+        Logger logger = Logger.getLogger("pending.a");
+        assertThat(logger.getLevel()).isEqualTo(Level.FINE);
+        admin.setLevel("pending.a", null);
+        assertThat(logger.getLevel()).isNull();
+        assertThat(admin.getLevel("pending.a")).isNull();
+    }
+
+    @Test
+    void should_count_enabled_events() {
+        JulAdmin admin = new JulAdmin(Logger.getLogger(""), new LevelJournal(LevelJournal.Tracking.NONE));
+        Logger logger = Logger.getLogger("counting.a");
+        logger.setLevel(Level.INFO);
+        admin.setEventCounting(true);
+        try {
+            logger.info("Hello");
+            logger.warning("Warning");
+            logger.info("Hello");
+            logger.fine("Disabled");
+            assertThat(admin.getTopEventCounts(1)).singleElement().satisfies(count -> {
+                assertThat(count.getLoggerName()).isEqualTo("counting.a");
+                assertThat(count.getLevel()).isEqualTo("INFO");
+                assertThat(count.getCount()).isEqualTo(2);
+            });
+            assertThat(admin.getTopEventCounts(10)).hasSize(2);
+        } finally {
+            admin.setEventCounting(false);
+        }
+        assertThat(admin.getTopEventCounts(10)).isEmpty();
+    }
+}
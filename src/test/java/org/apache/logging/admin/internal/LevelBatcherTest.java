@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+class LevelBatcherTest {
+
+    @Test
+    void should_coalesce_concurrent_changes() throws InterruptedException, ExecutionException, TimeoutException {
+        MapAdmin admin = new MapAdmin("OFF", "ERROR", "INFO", "DEBUG");
+        LevelBatcher batcher = new LevelBatcher(admin);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        // Keeps the scheduler busy, so that all the changes end up in the same window
+        AdminScheduler.get().execute(() -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            futures.add(batcher.submit("a", "DEBUG"));
+            futures.add(batcher.submit("b", "INFO"));
+            futures.add(batcher.submit("a", "ERROR"));
+        } finally {
+            latch.countDown();
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+        assertThat(admin.batches).hasSize(1);
+        assertThat(admin.batches.poll()).containsOnly(entry("a", "ERROR"), entry("b", "INFO"));
+    }
+}
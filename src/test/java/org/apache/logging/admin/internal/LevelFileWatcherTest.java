@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LevelFileWatcherTest {
+
+    private final MapAdmin admin = new MapAdmin("OFF", "ERROR", "WARN", "INFO", "DEBUG");
+
+    @TempDir
+    Path directory;
+
+    private static void write(Path file, String... lines) throws IOException {
+        Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void should_apply_only_modified_entries() throws IOException {
+        Path file = directory.resolve("levels.properties");
+        admin.levels.put("c", "WARN");
+        write(file, "a = DEBUG", "b = INFO", "c = ERROR");
+        try (LevelFileWatcher watcher = LevelFileWatcher.watch(admin, file, false)) {
+            assertThat(admin.batches.poll()).containsOnly(entry("a", "DEBUG"), entry("b", "INFO"), entry("c", "ERROR"));
+
+            write(file, "a = DEBUG", "b = WARN", "d = ");
+            watcher.reload();
+            // Removed entries restore the original level
+            assertThat(admin.batches.poll()).containsOnly(entry("b", "WARN"), entry("c", "WARN"), entry("d", null));
+
+            watcher.reload();
+            assertThat(admin.batches).isEmpty();
+
+            Files.delete(file);
+            watcher.reload();
+            assertThat(admin.batches.poll()).containsOnly(entry("a", null), entry("b", null), entry("d", null));
+        }
+    }
+
+    @Test
+    void should_detect_file_modifications() throws IOException, InterruptedException {
+        Path file = directory.resolve("levels.properties");
+        LevelFileWatcher watcher = LevelFileWatcher.watch(admin, file);
+        try {
+            write(file, "watched = DEBUG");
+            assertThat(admin.batches.poll(30, TimeUnit.SECONDS)).containsOnly(entry("watched", "DEBUG"));
+        } finally {
+            watcher.close();
+        }
+    }
+}
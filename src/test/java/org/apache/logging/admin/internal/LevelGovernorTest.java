@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LevelGovernorTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final MapAdmin admin = new MapAdmin("OFF", "FATAL", "ERROR", "WARN", "INFO", "DEBUG", "TRACE", "ALL");
+    private final Map<String, Long> counts = new HashMap<>();
+    private final LevelGovernor governor = new LevelGovernor(admin, () -> counts, 1000, 0);
+
+    @Test
+    void should_throttle_and_restore_logger() {
+        admin.levels.put("", "INFO");
+        long count = 0;
+        long time = 0;
+        for (String expected : new String[] {"WARN", "ERROR", "FATAL", "FATAL"}) {
+            count += 5000;
+            counts.put("storm", count);
+            governor.sample(time += SECOND);
+            assertThat(admin.getLevel("storm")).isEqualTo(expected);
+        }
+        // Calm samples
+        for (int i = 1; i < LevelGovernor.CALM_SAMPLES; i++) {
+            counts.put("storm", count += 100);
+            governor.sample(time += SECOND);
+            assertThat(admin.getLevel("storm")).isEqualTo("FATAL");
+        }
+        governor.sample(time + SECOND);
+        assertThat(admin.getLevel("storm")).isNull();
+    }
+
+    @Test
+    void should_not_restore_above_restore_threshold() {
+        admin.levels.put("", "INFO");
+        long time = 0;
+        counts.put("storm", 5000L);
+        governor.sample(time += SECOND);
+        assertThat(admin.getLevel("storm")).isEqualTo("WARN");
+        for (int i = 0; i < 2 * LevelGovernor.CALM_SAMPLES; i++) {
+            counts.put("storm", counts.get("storm") + 700);
+            governor.sample(time += SECOND);
+        }
+        assertThat(admin.getLevel("storm")).isEqualTo("WARN");
+
+        governor.stop();
+        assertThat(admin.getLevel("storm")).isNull();
+    }
+
+    @Test
+    void should_not_throttle_after_stop() {
+        admin.levels.put("", "INFO");
+        counts.put("storm", 5000L);
+        governor.sample(SECOND);
+        assertThat(admin.getLevel("storm")).isEqualTo("WARN");
+
+        governor.stop();
+        counts.put("storm", 10000L);
+        governor.sample(2 * SECOND);
+        assertThat(admin.getLevel("storm")).isNull();
+    }
+}
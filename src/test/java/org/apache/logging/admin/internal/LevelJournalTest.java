@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+class LevelJournalTest {
+
+    private final Map<String, @Nullable String> levels = new HashMap<>();
+
+    @Test
+    void should_only_scan_when_invalidated() {
+        LevelJournal journal = new LevelJournal(LevelJournal.Tracking.INVALIDATE);
+        levels.put("", "INFO");
+        long version = journal.refresh(() -> levels);
+        assertThat(journal.getChangesSince(0).getLevels()).containsOnlyKeys("");
+
+        levels.put("foo", "DEBUG");
+        assertThat(journal.refresh(() -> levels)).isEqualTo(version);
+        journal.invalidate();
+        assertThat(journal.refresh(() -> levels)).isGreaterThan(version);
+        assertThat(journal.getChangesSince(version).getLevels()).containsOnlyKeys("foo");
+    }
+
+    @Test
+    void should_ignore_inherited_levels_and_report_removed_ones() {
+        LevelJournal journal = new LevelJournal(LevelJournal.Tracking.NONE);
+        levels.put("foo", "DEBUG");
+        long version = journal.refresh(() -> levels);
+
+        levels.put("bar", null);
+        assertThat(journal.refresh(() -> levels)).isEqualTo(version);
+
+        levels.remove("foo");
+        assertThat(journal.refresh(() -> levels)).isGreaterThan(version);
+        Map<String, @Nullable String> changes = journal.getChangesSince(version).getLevels();
+        assertThat(changes).hasSize(1).containsEntry("foo", null);
+    }
+
+    @Test
+    void should_not_override_changes_recorded_during_scan() {
+        LevelJournal journal = new LevelJournal(LevelJournal.Tracking.RECORD);
+        levels.put("foo", "INFO");
+        journal.refresh(() -> {
+            // The scan misses a concurrent modification
+            journal.record("foo", "DEBUG");
+            return levels;
+        });
+        assertThat(journal.getChangesSince(0).getLevels()).containsEntry("foo", "DEBUG");
+
+        long version = journal.getVersion();
+        journal.record("bar", "TRACE");
+        assertThat(journal.refresh(() -> levels)).isEqualTo(version + 1);
+    }
+
+    @Test
+    void should_not_delay_scheduler_with_slow_listeners() throws InterruptedException {
+        LevelJournal journal = new LevelJournal(LevelJournal.Tracking.RECORD);
+        CountDownLatch notified = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        journal.addListener(
+                changes -> {
+                    notified.countDown();
+                    try {
+                        released.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                },
+                () -> levels);
+        try {
+            journal.record("foo", "DEBUG");
+            assertThat(notified.await(10, TimeUnit.SECONDS)).isTrue();
+            CountDownLatch scheduled = new CountDownLatch(1);
+            AdminScheduler.get().execute(scheduled::countDown);
+            assertThat(scheduled.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            released.countDown();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+class LevelOverridesTest {
+
+    private static final long TTL = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final MapAdmin admin = new MapAdmin("ERROR", "WARN", "INFO", "DEBUG", "TRACE");
+    private final LevelOverrides overrides = new LevelOverrides(admin, new ReentrantLock());
+
+    @Test
+    void should_revert_overrides_in_a_single_batch() throws InterruptedException {
+        admin.levels.put("foo", "INFO");
+        overrides.put("foo", "DEBUG", TTL);
+        overrides.put("bar", "TRACE", TTL);
+        overrides.put("foo", "TRACE", TTL);
+        assertThat(admin.levels).containsEntry("foo", "TRACE").containsEntry("bar", "TRACE");
+
+        Map<String, @Nullable String> batch = admin.batches.poll(10, TimeUnit.SECONDS);
+        assertThat(batch).containsOnlyKeys("foo", "bar").containsEntry("foo", "INFO");
+        assertThat(admin.levels).containsEntry("foo", "INFO").containsEntry("bar", null);
+        assertThat(overrides.size()).isZero();
+    }
+
+    @Test
+    void should_keep_levels_modified_after_override() throws InterruptedException {
+        overrides.put("foo", "DEBUG", TTL);
+        overrides.put("bar", "DEBUG", TTL);
+        admin.setLevel("foo", "WARN");
+
+        Map<String, @Nullable String> batch = admin.batches.poll(10, TimeUnit.SECONDS);
+        assertThat(batch).containsOnlyKeys("bar");
+        assertThat(admin.levels).containsEntry("foo", "WARN");
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+class LevelSnapshotsTest {
+
+    private static Map<String, @Nullable String> roundTrip(Map<String, @Nullable String> levels) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        LevelSnapshots.write(levels, output);
+        return LevelSnapshots.read(new ByteArrayInputStream(output.toByteArray()));
+    }
+
+    @Test
+    void should_restore_configured_levels() throws IOException {
+        Map<String, @Nullable String> levels = new HashMap<>();
+        levels.put("", "INFO");
+        levels.put("foo", "DEBUG");
+        levels.put("foo.bar", null);
+        levels.put("foo.bar.baz", "TRACE");
+        levels.put("foo.bär", "WARN");
+        // Surrogate pairs sharing the high surrogate
+        levels.put("foo.😀", "ERROR");
+        levels.put("foo.😁", "ERROR");
+
+        Map<String, @Nullable String> expected = new HashMap<>(levels);
+        expected.remove("foo.bar");
+        assertThat(roundTrip(levels)).isEqualTo(expected);
+    }
+
+    @Test
+    void should_compress_common_prefixes() throws IOException {
+        Map<String, @Nullable String> levels = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            levels.put(
+                    "org.example.application.module" + i / 100 + ".Component" + i % 100, i % 2 == 0 ? "INFO" : "DEBUG");
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        LevelSnapshots.write(levels, output);
+        // Each entry shares most of its name with the previous one
+        assertThat(output.size()).isLessThan(10 * levels.size());
+        assertThat(LevelSnapshots.read(new ByteArrayInputStream(output.toByteArray())))
+                .isEqualTo(levels);
+    }
+
+    @Test
+    void should_reject_invalid_snapshot() {
+        assertThatThrownBy(() -> LevelSnapshots.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4})))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void should_reject_oversized_lengths() {
+        // Magic, version, Integer.MAX_VALUE levels
+        byte[] levelCount = {0x4C, 0x56, 0x4C, 0x53, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        assertThatThrownBy(() -> LevelSnapshots.read(new ByteArrayInputStream(levelCount)))
+                .isInstanceOf(IOException.class);
+        // Magic, version, one level of Integer.MAX_VALUE bytes
+        byte[] levelLength = {0x4C, 0x56, 0x4C, 0x53, 1, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        assertThatThrownBy(() -> LevelSnapshots.read(new ByteArrayInputStream(levelLength)))
+                .isInstanceOf(IOException.class);
+        // Magic, version, no levels, Integer.MAX_VALUE loggers
+        byte[] loggerCount = {0x4C, 0x56, 0x4C, 0x53, 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        assertThatThrownBy(() -> LevelSnapshots.read(new ByteArrayInputStream(loggerCount)))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.impl.Log4jContextFactory;
+import org.apache.logging.log4j.core.selector.ContextSelector;
+import org.junit.jupiter.api.Test;
+
+class Log4jCoreAdminTest {
+
+    private static Log4jCoreAdmin createAdmin(LoggerContext loggerContext, Log4jCoreAdmin.UpdateMode updateMode) {
+        return createAdmin(loggerContext, updateMode, false);
+    }
+
+    private static Log4jCoreAdmin createAdmin(
+            LoggerContext loggerContext, Log4jCoreAdmin.UpdateMode updateMode, boolean autoCompact) {
+        return new Log4jCoreAdmin(
+                loggerContext, new LevelJournal(LevelJournal.Tracking.INVALIDATE), updateMode, autoCompact);
+    }
+
+    @Test
+    void should_return_root_level_of_default_configuration() {
+        LoggerContext loggerContext = new LoggerContext("default-configuration");
+        try {
+            Log4jCoreAdmin admin = createAdmin(loggerContext, Log4jCoreAdmin.UpdateMode.CONTEXT);
+            loggerContext.getLogger("root");
+            assertThat(admin.getLevel("")).isEqualTo("ERROR");
+            assertThat(admin.getLevel("root")).isNull();
+        } finally {
+            loggerContext.stop();
+        }
+    }
+
+    @Test
+    void should_only_update_loggers_in_subtree() {
+        LoggerContext loggerContext = (LoggerContext) LogManager.getContext(false);
+        Log4jCoreAdmin admin = createAdmin(loggerContext, Log4jCoreAdmin.UpdateMode.SUBTREE);
+        Logger child = loggerContext.getLogger("subtree.a.b");
+        Logger sibling = loggerContext.getLogger("subtree.b");
+        AtomicInteger updates = new AtomicInteger();
+        loggerContext.addPropertyChangeListener(event -> updates.incrementAndGet());
+
+        admin.setLevel("subtree.a", "TRACE");
+        assertThat(child.isTraceEnabled()).isTrue();
+        assertThat(child.get().getName()).isEqualTo("subtree.a");
+        assertThat(sibling.isTraceEnabled()).isFalse();
+
+        admin.setLevel("subtree", "ERROR");
+        assertThat(child.isTraceEnabled()).isTrue();
+        assertThat(sibling.isWarnEnabled()).isFalse();
+        assertThat(sibling.get().getName()).isEqualTo("subtree");
+        // No context-wide update
+        assertThat(updates).hasValue(0);
+    }
+
+    @Test
+    void should_update_all_loggers_if_root_level_changed() {
+        LoggerContext loggerContext = new LoggerContext("subtree-root");
+        try {
+            Log4jCoreAdmin admin = createAdmin(loggerContext, Log4jCoreAdmin.UpdateMode.SUBTREE);
+            Logger logger = loggerContext.getLogger("subtree.root.a");
+            AtomicInteger updates = new AtomicInteger();
+            loggerContext.addPropertyChangeListener(event -> updates.incrementAndGet());
+
+            admin.setLevel("", "DEBUG");
+            assertThat(logger.isDebugEnabled()).isTrue();
+            assertThat(updates).hasValue(1);
+        } finally {
+            loggerContext.stop();
+        }
+    }
+
+    @Test
+    void should_not_update_loggers_if_level_unchanged() {
+        LoggerContext loggerContext = (LoggerContext) LogManager.getContext(false);
+        Log4jCoreAdmin admin = createAdmin(loggerContext, Log4jCoreAdmin.UpdateMode.CONTEXT);
+        AtomicInteger updates = new AtomicInteger();
+        loggerContext.addPropertyChangeListener(event -> updates.incrementAndGet());
+
+        admin.setLevel("unchanged", "WARN");
+        assertThat(updates).hasValue(1);
+        admin.setLevel("unchanged", "WARN");
+        assertThat(updates).hasValue(1);
+    }
+
+    @Test
+    void should_not_claim_foreign_logger_contexts() throws IOException {
+        ContextSelector selector = ((Log4jContextFactory) LogManager.getFactory()).getSelector();
+        try (URLClassLoader foreignLoader = new URLClassLoader(new URL[0], null)) {
+            LoggerContext foreign = selector.getContext(Log4jCoreAdminTest.class.getName(), foreignLoader, false);
+            try {
+                Log4jCoreAdmin.newInstances(new Object());
+                assertThat(foreign.getObject(GuardedAdmin.KEY)).isNull();
+            } finally {
+                selector.removeContext(foreign);
+                foreign.stop();
+            }
+        }
+    }
+
+    @Test
+    void should_count_enabled_events() {
+        LoggerContext loggerContext = (LoggerContext) LogManager.getContext(false);
+        Log4jCoreAdmin admin = createAdmin(loggerContext, Log4jCoreAdmin.UpdateMode.CONTEXT);
+        Logger logger = loggerContext.getLogger("counting.a");
+        admin.setEventCounting(true);
+        try {
+            logger.info("Hello {}!", "world");
+            logger.info("Hello");
+            logger.debug("Disabled");
+            if (logger.isInfoEnabled()) {
+                logger.info(() -> "Lambda");
+            }
+            assertThat(admin.getTopEventCounts(10))
+                    .filteredOn(count -> count.getLoggerName().equals("counting.a"))
+                    .singleElement()
+                    .satisfies(count -> {
+                        assertThat(count.getLevel()).isEqualTo("INFO");
+                        assertThat(count.getCount()).isEqualTo(3);
+                    });
+        } finally {
+            admin.setEventCounting(false);
+        }
+        assertThat(admin.getTopEventCounts(10)).isEmpty();
+    }
+
+    @Test
+    void should_remove_redundant_logger_configs() {
+        LoggerContext loggerContext = (LoggerContext) LogManager.getContext(false);
+        Log4jCoreAdmin admin = createAdmin(loggerContext, Log4jCoreAdmin.UpdateMode.CONTEXT);
+        Logger logger = loggerContext.getLogger("compact.a.b.c");
+        admin.setLevel("compact", "DEBUG");
+        admin.setLevel("compact.a", "DEBUG");
+        admin.setLevel("compact.a.b", "TRACE");
+        admin.setLevel("compact.a.b.c", "TRACE");
+        admin.setLevel("compact.a.b", null);
+        assertThat(admin.getLevel("compact.a.b")).isNull();
+        // Configured in `log4j2.xml`
+        String configured = "foo.bar";
+        String configuredLevel = admin.getLevel(configured);
+
+        assertThat(admin.compactLevels()).isGreaterThanOrEqualTo(2);
+        Map<String, LoggerConfig> loggerConfigs =
+                loggerContext.getConfiguration().getLoggers();
+        assertThat(loggerConfigs).containsKeys("compact", "compact.a.b.c", configured);
+        assertThat(loggerConfigs).doesNotContainKeys("compact.a", "compact.a.b");
+        assertThat(logger.isTraceEnabled()).isTrue();
+        assertThat(admin.getLevel(configured)).isEqualTo(configuredLevel);
+        assertThat(admin.compactLevels()).isZero();
+    }
+
+    @Test
+    void should_remove_redundant_logger_configs_automatically() {
+        LoggerContext loggerContext = (LoggerContext) LogManager.getContext(false);
+        Log4jCoreAdmin admin = createAdmin(loggerContext, Log4jCoreAdmin.UpdateMode.CONTEXT, true);
+        Logger logger = loggerContext.getLogger("auto.a");
+        admin.setLevel("auto.a", "TRACE");
+        assertThat(logger.isTraceEnabled()).isTrue();
+        admin.setLevel("auto.a", null);
+        assertThat(loggerContext.getConfiguration().getLoggers()).doesNotContainKey("auto.a");
+        assertThat(logger.isTraceEnabled()).isFalse();
+    }
+}
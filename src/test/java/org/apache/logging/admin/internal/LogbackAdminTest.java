@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.apache.logging.admin.LoggingAdmin;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+class LogbackAdminTest {
+
+    @Test
+    void should_count_enabled_events() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        LogbackAdmin admin = new LogbackAdmin(loggerContext, new LevelJournal(LevelJournal.Tracking.NONE));
+        Logger logger = loggerContext.getLogger("counting.a");
+        admin.setEventCounting(true);
+        try {
+            logger.info("Hello {}!", "world");
+            logger.info("Hello");
+            logger.debug("Disabled");
+            if (logger.isInfoEnabled()) {
+                logger.info("Guarded");
+            }
+            assertThat(admin.getTopEventCounts(10))
+                    .filteredOn(count -> count.getLoggerName().equals("counting.a"))
+                    .singleElement()
+                    .satisfies(count -> {
+                        assertThat(count.getLevel()).isEqualTo("INFO");
+                        assertThat(count.getCount()).isEqualTo(3);
+                    });
+        } finally {
+            admin.setEventCounting(false);
+        }
+        assertThat(admin.getTopEventCounts(10)).isEmpty();
+    }
+
+    @Test
+    void should_record_reset_levels_as_inherited() {
+        LoggerContext loggerContext = new LoggerContext();
+        LoggingAdmin admin = LogbackAdmin.newInstance(loggerContext, new Object());
+        admin.setLevel("reset.a", "DEBUG");
+        long version = admin.getLevelsVersion();
+        admin.setLevel("reset.a", null);
+        assertThat(admin.getLevel("reset.a")).isNull();
+        assertThat(admin.getLevelChangesSince(version).getLevels()).containsExactly(entry("reset.a", null));
+    }
+
+    @Test
+    void should_keep_admin_after_reset() {
+        LoggerContext loggerContext = new LoggerContext();
+        Object token = new Object();
+        LoggingAdmin admin = LogbackAdmin.newInstance(loggerContext, token);
+        loggerContext.reset();
+        assertThat(LogbackAdmin.newInstance(loggerContext, token)).isSameAs(admin);
+        admin.setLevel("reset.b", "DEBUG");
+        assertThat(admin.getLevel("reset.b")).isEqualTo("DEBUG");
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class LoggerNamePatternTest {
+
+    private static final List<String> LOGGER_NAMES = Arrays.asList(
+            "",
+            "com.acme.billing.dao",
+            "com.acme.billing.dao.jdbc",
+            "com.acme.shipping.dao",
+            "com.acme.dao",
+            "org.h2.jdbc",
+            "jdbc");
+
+    @ParameterizedTest
+    @CsvSource(
+            delimiter = '|',
+            value = {
+                "com.acme.*.dao | com.acme.billing.dao,com.acme.shipping.dao",
+                "com.acme.**.dao | com.acme.billing.dao,com.acme.shipping.dao,com.acme.dao",
+                "**.jdbc | com.acme.billing.dao.jdbc,org.h2.jdbc,jdbc",
+                "*.jdbc | ''",
+                "com.acme.billing.dao | com.acme.billing.dao",
+                "com.acme | ''",
+                "com.**.**.dao.** | com.acme.billing.dao,com.acme.billing.dao.jdbc,com.acme.shipping.dao,com.acme.dao"
+            })
+    void should_match_segments(String pattern, String expected) {
+        assertThat(LoggerNamePattern.compile(pattern).match(LOGGER_NAMES))
+                .containsExactlyInAnyOrderElementsOf(
+                        expected.isEmpty() ? new ArrayList<>() : Arrays.asList(expected.split(",")));
+    }
+
+    @Test
+    void should_match_root_logger() {
+        assertThat(LoggerNamePattern.compile("").match(LOGGER_NAMES)).containsExactly("");
+        assertThat(LoggerNamePattern.compile("**").match(LOGGER_NAMES))
+                .containsExactlyInAnyOrderElementsOf(LOGGER_NAMES);
+    }
+
+    @Test
+    void should_reject_partial_wildcards() {
+        assertThatThrownBy(() -> LoggerNamePattern.compile("com.acme.*Dao"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_apply_levels_as_single_batch() {
+        MapAdmin admin = new MapAdmin("OFF", "ERROR", "INFO", "DEBUG");
+        LOGGER_NAMES.forEach(loggerName -> admin.levels.put(loggerName, null));
+        CompositeLoggingAdmin composite = new CompositeLoggingAdmin(admin, new ArrayList<>());
+
+        assertThat(composite.setLevelsMatching("**.dao", "DEBUG"))
+                .containsExactlyInAnyOrder("com.acme.billing.dao", "com.acme.shipping.dao", "com.acme.dao");
+        assertThat(admin.batches).hasSize(1);
+        assertThat(admin.getLevel("com.acme.dao")).isEqualTo("DEBUG");
+        assertThat(admin.getLevel("com.acme.billing.dao.jdbc")).isNull();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.apache.logging.admin.LoggingAdmin;
+import org.junit.jupiter.api.Test;
+
+class LoggerNameTrieTest {
+
+    @Test
+    void should_insert_all_ancestors() {
+        LoggerNameTrie trie = new LoggerNameTrie();
+        trie.add("foo.bar.baz");
+        assertThat(trie.resolve(loggerName -> null))
+                .containsOnlyKeys(LoggingAdmin.ROOT_LOGGER_NAME, "foo", "foo.bar", "foo.bar.baz");
+    }
+
+    @Test
+    void should_preserve_empty_segments() {
+        LoggerNameTrie trie = new LoggerNameTrie();
+        trie.add("foo..bar.");
+        assertThat(trie.resolve(loggerName -> null))
+                .containsOnlyKeys(LoggingAdmin.ROOT_LOGGER_NAME, "foo", "foo.", "foo..bar", "foo..bar.");
+    }
+
+    @Test
+    void should_list_subtree_in_hierarchical_order() {
+        LoggerNameTrie trie = new LoggerNameTrie();
+        Stream.of("a-b", "a.c.d", "a.b", "b", "a.b-c").forEach(trie::add);
+        assertThat(trie.stream("a", loggerName -> null).map(Map.Entry::getKey))
+                .containsExactly("a", "a.b", "a.b-c", "a.c", "a.c.d");
+        assertThat(trie.stream(LoggingAdmin.ROOT_LOGGER_NAME, loggerName -> null)
+                        .map(Map.Entry::getKey))
+                .isSortedAccordingTo(LoggerNames.HIERARCHICAL_ORDER)
+                .hasSize(trie.size());
+        assertThat(trie.resolve("a.c", loggerName -> null)).containsOnlyKeys("a.c", "a.c.d");
+        assertThat(trie.resolve("a.x", loggerName -> null)).isEmpty();
+    }
+
+    @Test
+    void should_cost_linear_in_total_name_segments() {
+        // 10 * 100 * 100 leaves, with 4 segments each
+        List<String> loggerNames = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 100; j++) {
+                for (int k = 0; k < 100; k++) {
+                    loggerNames.add("org.p" + i + ".c" + j + ".l" + k);
+                }
+            }
+        }
+        int totalSegments = 4 * loggerNames.size();
+
+        LoggerNameTrie trie = new LoggerNameTrie();
+        loggerNames.forEach(trie::add);
+        // Inserting the names a second time must not create any node
+        loggerNames.forEach(trie::add);
+        AtomicInteger resolverCalls = new AtomicInteger();
+        trie.resolve(loggerName -> {
+            resolverCalls.incrementAndGet();
+            return null;
+        });
+
+        // root + org + org.p* + org.p*.c* + org.p*.c*.l*
+        int distinctPrefixes = 1 + 1 + 10 + 10 * 100 + 10 * 100 * 100;
+        assertThat(trie.size()).isEqualTo(distinctPrefixes).isLessThanOrEqualTo(totalSegments + 1);
+        assertThat(resolverCalls).hasValue(distinctPrefixes);
+    }
+}
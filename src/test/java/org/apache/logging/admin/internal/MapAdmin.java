@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.admin.internal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.apache.logging.admin.LoggingAdmin;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A logging admin backed by a map, which records the batches passed to {@link #setLevels}.
+ */
+final class MapAdmin implements LoggingAdmin {
+
+    final Map<String, @Nullable String> levels = new HashMap<>();
+    final BlockingQueue<Map<String, @Nullable String>> batches = new LinkedBlockingQueue<>();
+    private final List<String> supportedLevels;
+
+    MapAdmin(String... supportedLevels) {
+        this.supportedLevels = Arrays.asList(supportedLevels);
+    }
+
+    @Override
+    public List<String> getSupportedLevels() {
+        return supportedLevels;
+    }
+
+    @Override
+    public synchronized Map<String, @Nullable String> getLevels() {
+        return new HashMap<>(levels);
+    }
+
+    @Override
+    public synchronized @Nullable String getLevel(String loggerName) {
+        return levels.get(loggerName);
+    }
+
+    @Override
+    public synchronized void setLevel(String loggerName, @Nullable String level) {
+        levels.put(loggerName, level);
+    }
+
+    @Override
+    public synchronized void setLevels(Map<String, @Nullable String> levels) {
+        this.levels.putAll(levels);
+        batches.add(new HashMap<>(levels));
+    }
+}